@@ -1,7 +1,14 @@
 -- Create the sequence with your custom starting number
+-- Account numbers are reserved in blocks of 50 per application node (pooled-lo):
+-- every sequence call hands a node the range [value, value + 49], which it then
+-- assigns from memory. INCREMENT BY must match allocationSize on Account.
+-- Gaps in account numbers are expected (unused numbers of a block are lost on restart).
 CREATE SEQUENCE account_number_seq
     START WITH 1462000000
-    INCREMENT BY 1
+    INCREMENT BY 50
     MINVALUE 1462000000
     MAXVALUE 146200000000 -- Max value for BIGINT
-    NOCACHE; -- Ensures no gaps but might have slight performance impact
\ No newline at end of file
+    CACHE 20; -- Sequence values are cached by the database, gaps are accepted
+
+-- Existing databases created with INCREMENT BY 1:
+-- ALTER SEQUENCE account_number_seq INCREMENT BY 50;
@@ -0,0 +1,19 @@
+-- Recomputes the monthly spending rollups (spending_rollup) from the recorded transactions.
+-- Run it once after deploying the version that maintains the rollups: transactions booked
+-- before that were never counted, so their months would show zeros.
+-- Every row is set to the full count and total of its month, not added to, so running it
+-- again is harmless. Run it when few transfers are booked, a transaction committed while
+-- the statement runs can be left out of its month until the next run.
+INSERT INTO spending_rollup (account_number, rollup_month, type, transaction_count, total_amount)
+SELECT * FROM (
+    SELECT t.account_id AS account_number,
+           CAST(DATE_FORMAT(t.time, '%Y-%m-01') AS DATE) AS rollup_month,
+           t.type AS type,
+           COUNT(*) AS transaction_count,
+           SUM(t.amount) AS total_amount
+    FROM transactions t
+    GROUP BY t.account_id, CAST(DATE_FORMAT(t.time, '%Y-%m-01') AS DATE), t.type
+) AS backfill
+ON DUPLICATE KEY UPDATE
+    transaction_count = backfill.transaction_count,
+    total_amount = backfill.total_amount;
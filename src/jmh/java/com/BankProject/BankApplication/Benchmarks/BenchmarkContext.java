@@ -0,0 +1,67 @@
+package com.BankProject.BankApplication.Benchmarks;
+
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.BankProject.BankApplication.BankApplication;
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Repository.UserRepository;
+
+// Boots the application against H2 and the in-process cache ("test" profile)
+// and provides helpers to seed customers for the benchmarks.
+public final class BenchmarkContext {
+
+     private BenchmarkContext() {
+     }
+
+     public static ConfigurableApplicationContext start(String... properties) {
+          return new SpringApplicationBuilder(BankApplication.class)
+                    .profiles("test")
+                    .web(WebApplicationType.NONE)
+                    .properties("logging.level.root=WARN")
+                    .properties(properties)
+                    .run();
+     }
+
+     // same application with the embedded web server on a random port
+     public static ConfigurableApplicationContext startWeb(String... properties) {
+          return new SpringApplicationBuilder(BankApplication.class)
+                    .profiles("test")
+                    .web(WebApplicationType.SERVLET)
+                    .properties("logging.level.root=WARN")
+                    .properties(properties)
+                    .run();
+     }
+
+     // creates an enabled customer with an account holding the given balance
+     public static User createCustomer(ConfigurableApplicationContext context, String email, double balance) {
+          UserRepository userRepository = context.getBean(UserRepository.class);
+          User user = new User();
+          user.setFullName("Benchmark " + email);
+          user.setEmail(email);
+          user.setPassword("{noop}benchmark");
+          user.setRole(Role.USER);
+          user.setIsEnabled(true);
+          Account account = new Account();
+          account.setBalance(balance);
+          account.setAccountType(AccountType.SAVINGS);
+          account.setUser(user);
+          user.setAccount(account);
+          return userRepository.save(user);
+     }
+
+     // the services resolve the current customer from the security context
+     public static void authenticate(String email) {
+          SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_" + Role.USER.name()))));
+     }
+}
@@ -0,0 +1,147 @@
+package com.BankProject.BankApplication.Benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.BankProject.BankApplication.DTOs.CachedAccount;
+import com.BankProject.BankApplication.DTOs.CachedUser;
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Entity.Transactions;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+import com.BankProject.BankApplication.Utils.CacheValueCodec;
+
+// Encode/decode cost of the values the services put into the Redis caches:
+// JDK serialization of the entity graphs (RedisCacheManager's default, the former format)
+// against the snapshot records in the CacheValueCodec format. Bytes per entry are printed in the setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheSerializationBenchmark {
+
+     // number of transactions cached for the account
+     @Param({ "10", "100", "1000" })
+     private int historySize;
+
+     private final RedisSerializer<Object> jdkSerializer = new JdkSerializationRedisSerializer();
+
+     private final RedisSerializer<Object> codec = new CacheValueCodec(null);
+
+     private Account account;
+     private List<Transactions> history;
+     private byte[] accountBytes;
+     private byte[] historyBytes;
+     private User user;
+     private byte[] userBytes;
+     private CachedAccount cachedAccount;
+     private byte[] cachedAccountBytes;
+     private CachedUser cachedUser;
+     private byte[] cachedUserBytes;
+
+     @Setup
+     public void setup() {
+          user = new User();
+          user.setUserId(UUID.randomUUID().toString());
+          user.setFullName("Cache Benchmark");
+          user.setEmail("cache.benchmark@securebank.test");
+          user.setPassword("{noop}benchmark");
+          user.setRole(Role.USER);
+          user.setIsEnabled(true);
+
+          account = new Account();
+          account.setAccountNumber(1462000001L);
+          account.setBalance(10_000);
+          account.setAccountType(AccountType.SAVINGS);
+          account.setUser(user);
+          user.setAccount(account);
+
+          history = new ArrayList<>();
+          for (int i = 0; i < historySize; i++) {
+               Transactions transaction = new Transactions();
+               transaction.setTransactionId(UUID.randomUUID().toString());
+               transaction.setAmount(10.0 + i);
+               transaction.setType(i % 2 == 0 ? TransactionTypes.DEPOSIT : TransactionTypes.WITHDRAW);
+               transaction.setTime(LocalDateTime.now().minusMinutes(i));
+               transaction.setAccount(account);
+               history.add(transaction);
+          }
+          // cached accounts carry their loaded transactions collection with them
+          account.setTransactions(history);
+
+          accountBytes = jdkSerializer.serialize(account);
+          historyBytes = jdkSerializer.serialize(history);
+          userBytes = jdkSerializer.serialize(user);
+          cachedAccount = CachedAccount.of(account);
+          cachedAccountBytes = codec.serialize(cachedAccount);
+          cachedUser = CachedUser.of(user);
+          cachedUserBytes = codec.serialize(cachedUser);
+          System.out.printf("%nbytes per entry: account %d (jdk) / %d (codec), user %d (jdk) / %d (codec)%n",
+                    accountBytes.length, cachedAccountBytes.length, userBytes.length, cachedUserBytes.length);
+     }
+
+     @Benchmark
+     public byte[] serializeAccount() {
+          return jdkSerializer.serialize(account);
+     }
+
+     @Benchmark
+     public Object deserializeAccount() {
+          return jdkSerializer.deserialize(accountBytes);
+     }
+
+     @Benchmark
+     public byte[] serializeTransactions() {
+          return jdkSerializer.serialize(history);
+     }
+
+     @Benchmark
+     public Object deserializeTransactions() {
+          return jdkSerializer.deserialize(historyBytes);
+     }
+
+     @Benchmark
+     public byte[] serializeCachedAccount() {
+          return codec.serialize(cachedAccount);
+     }
+
+     @Benchmark
+     public Object deserializeCachedAccount() {
+          return codec.deserialize(cachedAccountBytes);
+     }
+
+     @Benchmark
+     public byte[] serializeUser() {
+          return jdkSerializer.serialize(user);
+     }
+
+     @Benchmark
+     public Object deserializeUser() {
+          return jdkSerializer.deserialize(userBytes);
+     }
+
+     @Benchmark
+     public byte[] serializeCachedUser() {
+          return codec.serialize(cachedUser);
+     }
+
+     @Benchmark
+     public Object deserializeCachedUser() {
+          return codec.deserialize(cachedUserBytes);
+     }
+}
@@ -0,0 +1,65 @@
+package com.BankProject.BankApplication.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Utils.CustomUserDetails;
+import com.BankProject.BankApplication.Utils.JwtUtils;
+import com.BankProject.BankApplication.Utils.TokenPrincipal;
+
+// Token issue and verification cost, paid on every login and every authenticated request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilsBenchmark {
+
+     private static final String EMAIL = "jwt.benchmark@securebank.test";
+
+     private JwtUtils jwtUtils;
+     private CustomUserDetails userDetails;
+     private String token;
+     private String claimsToken;
+
+     @Setup
+     public void setup() {
+          jwtUtils = new JwtUtils();
+          User user = new User();
+          user.setUserId("jwt-benchmark");
+          user.setEmail(EMAIL);
+          user.setRole(Role.USER);
+          user.setIsEnabled(true);
+          userDetails = new CustomUserDetails(user);
+          token = jwtUtils.generateToken(EMAIL);
+          claimsToken = jwtUtils.generateToken(user);
+     }
+
+     @Benchmark
+     public String generateToken() {
+          return jwtUtils.generateToken(EMAIL);
+     }
+
+     @Benchmark
+     public String extractUsername() {
+          return jwtUtils.extractUsername(token);
+     }
+
+     @Benchmark
+     public boolean validateToken() {
+          return jwtUtils.validateToken(EMAIL, userDetails, token);
+     }
+
+     // what the stateless filter pays on a verified token cache miss: a single parse and HMAC check
+     @Benchmark
+     public TokenPrincipal parsePrincipal() {
+          return jwtUtils.parsePrincipal(claimsToken);
+     }
+}
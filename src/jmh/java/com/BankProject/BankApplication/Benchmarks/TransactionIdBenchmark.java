@@ -0,0 +1,116 @@
+package com.BankProject.BankApplication.Benchmarks;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.BankProject.BankApplication.Utils.UuidV7;
+
+// Random (v4) vs time ordered (v7) transaction ids: generation cost and insert throughput
+// into a transactions-like table whose primary key and (account_id, time, id) index grow large.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransactionIdBenchmark {
+
+     private static final int BATCH_SIZE = 1000;
+
+     @Benchmark
+     @Threads(4)
+     public UUID generateRandom() {
+          return UUID.randomUUID();
+     }
+
+     @Benchmark
+     @Threads(4)
+     public UUID generateTimeOrdered() {
+          return UuidV7.next();
+     }
+
+     @State(Scope.Benchmark)
+     public static class Table {
+          @Param({ "random", "time-ordered" })
+          String strategy;
+
+          // rows inserted before measuring, so the indexes are already large
+          @Param({ "500000" })
+          int existingRows;
+
+          Connection connection;
+          PreparedStatement insert;
+          File databaseFile;
+          long accountId;
+
+          @Setup(Level.Trial)
+          public void create() throws SQLException {
+               String name = "target/jmh-transaction-ids-" + strategy;
+               databaseFile = new File(name + ".mv.db");
+               databaseFile.delete();
+               connection = DriverManager.getConnection("jdbc:h2:file:./" + name, "sa", "");
+               try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE transactions (transaction_id VARCHAR(36) PRIMARY KEY, "
+                              + "account_id BIGINT NOT NULL, amount DOUBLE, time TIMESTAMP(6))");
+                    statement.execute("CREATE INDEX idx_transactions_account_time "
+                              + "ON transactions (account_id, time, transaction_id)");
+               }
+               connection.setAutoCommit(false);
+               insert = connection.prepareStatement(
+                         "INSERT INTO transactions (transaction_id, account_id, amount, time) "
+                                   + "VALUES (?, ?, ?, CURRENT_TIMESTAMP(6))");
+               for (int i = 0; i < existingRows; i += BATCH_SIZE) {
+                    insertBatch();
+               }
+          }
+
+          void insertBatch() throws SQLException {
+               for (int i = 0; i < BATCH_SIZE; i++) {
+                    insert.setString(1, nextId().toString());
+                    // spread rows over a few thousand accounts like real traffic
+                    insert.setLong(2, 1462000000L + (accountId++ % 5000));
+                    insert.setDouble(3, 10.0);
+                    insert.addBatch();
+               }
+               insert.executeBatch();
+               connection.commit();
+          }
+
+          UUID nextId() {
+               return "random".equals(strategy) ? UUID.randomUUID() : UuidV7.next();
+          }
+
+          @TearDown(Level.Trial)
+          public void close() throws SQLException {
+               try (Statement statement = connection.createStatement()) {
+                    statement.execute("CHECKPOINT SYNC");
+               }
+               connection.close();
+               // file size stands in for table + index size, random keys leave half empty pages behind
+               System.out.printf("%n[%s] database file size after run: %.1f MB%n", strategy,
+                         databaseFile.length() / (1024.0 * 1024.0));
+               databaseFile.delete();
+          }
+     }
+
+     @Benchmark
+     @OperationsPerInvocation(BATCH_SIZE)
+     public void insertTransactions(Table table) throws SQLException {
+          table.insertBatch();
+     }
+}
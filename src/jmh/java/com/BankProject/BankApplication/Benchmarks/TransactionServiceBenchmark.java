@@ -0,0 +1,90 @@
+package com.BankProject.BankApplication.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.DTOs.TransferSlip;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Service.TransactionService;
+
+// End-to-end cost of the money-moving operations (JPA + H2 + in-process cache).
+// Every benchmark thread works on its own account so threads do not contend on one row.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransactionServiceBenchmark {
+
+     @State(Scope.Benchmark)
+     public static class Application {
+          ConfigurableApplicationContext context;
+          TransactionService transactionService;
+          Long receiverAccountNumber;
+          final AtomicInteger customers = new AtomicInteger();
+
+          @Setup(Level.Trial)
+          public void start() {
+               context = BenchmarkContext.start();
+               transactionService = context.getBean(TransactionService.class);
+               receiverAccountNumber = BenchmarkContext
+                         .createCustomer(context, "receiver@securebank.test", 0)
+                         .getAccount().getAccountNumber();
+          }
+
+          @TearDown(Level.Trial)
+          public void stop() {
+               context.close();
+          }
+     }
+
+     @State(Scope.Thread)
+     public static class Customer {
+          String email;
+          TransferSlip transferSlip;
+
+          @Setup(Level.Trial)
+          public void create(Application application) {
+               email = "customer" + application.customers.incrementAndGet() + "@securebank.test";
+               User user = BenchmarkContext.createCustomer(application.context, email, 1_000_000_000);
+               transferSlip = new TransferSlip(user.getAccount().getAccountNumber(),
+                         application.receiverAccountNumber, 1.0);
+          }
+
+          // the security context is thread bound, so it is (re)installed on the measuring thread
+          @Setup(Level.Iteration)
+          public void login() {
+               BenchmarkContext.authenticate(email);
+          }
+     }
+
+     @Benchmark
+     public TransactionResponseDTO deposit(Application application, Customer customer) {
+          return application.transactionService.deposit(1.0);
+     }
+
+     @Benchmark
+     public TransactionResponseDTO withdraw(Application application, Customer customer) {
+          return application.transactionService.withdraw(1.0);
+     }
+
+     @Benchmark
+     public TransactionResponseDTO transferAmount(Application application, Customer customer) throws Exception {
+          return application.transactionService.transferAmount(customer.transferSlip);
+     }
+
+     @Benchmark
+     public Page<TransactionResponseDTO> checkTransactionHistory(Application application, Customer customer) {
+          return application.transactionService.checkTransactionHistory(0, 10);
+     }
+}
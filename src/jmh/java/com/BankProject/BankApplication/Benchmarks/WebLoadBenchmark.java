@@ -0,0 +1,101 @@
+package com.BankProject.BankApplication.Benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Utils.JwtUtils;
+
+// HTTP load against the embedded Tomcat with platform threads (default pool of 200) and with
+// virtual threads. More client threads than Tomcat workers, so in platform mode requests queue.
+// SampleTime reports the latency percentiles (p99), Throughput the requests per second.
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class WebLoadBenchmark {
+
+     @State(Scope.Benchmark)
+     public static class Server {
+          @Param({ "false", "true" })
+          boolean virtualThreads;
+
+          ConfigurableApplicationContext context;
+          HttpClient client;
+          String baseUrl;
+          final AtomicInteger customers = new AtomicInteger();
+
+          @Setup(Level.Trial)
+          public void start() {
+               context = BenchmarkContext.startWeb("server.port=0",
+                         "spring.threads.virtual.enabled=" + virtualThreads);
+               int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+               baseUrl = "http://localhost:" + port;
+               client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+          }
+
+          @TearDown(Level.Trial)
+          public void stop() {
+               context.close();
+          }
+     }
+
+     @State(Scope.Thread)
+     public static class Customer {
+          HttpRequest balance;
+          HttpRequest history;
+
+          @Setup(Level.Trial)
+          public void create(Server server) throws Exception {
+               String email = "web" + server.customers.incrementAndGet() + "@securebank.test";
+               User user = BenchmarkContext.createCustomer(server.context, email, 1_000);
+               String token = server.context.getBean(JwtUtils.class).generateToken(user);
+               balance = request(server, "/user/balance", token);
+               // beyond the recent transactions cache, always served by the DB
+               history = request(server, "/transactions/history?page=20&size=10", token);
+          }
+
+          private static HttpRequest request(Server server, String path, String token) {
+               return HttpRequest.newBuilder(URI.create(server.baseUrl + path))
+                         .header("Authorization", "Bearer " + token)
+                         .GET()
+                         .build();
+          }
+     }
+
+     @Benchmark
+     public int balance(Server server, Customer customer) throws IOException, InterruptedException {
+          return send(server, customer.balance);
+     }
+
+     @Benchmark
+     public int history(Server server, Customer customer) throws IOException, InterruptedException {
+          return send(server, customer.history);
+     }
+
+     private static int send(Server server, HttpRequest request) throws IOException, InterruptedException {
+          HttpResponse<String> response = server.client.send(request, HttpResponse.BodyHandlers.ofString());
+          if (response.statusCode() != 200) {
+               throw new IllegalStateException("HTTP " + response.statusCode() + " " + response.body());
+          }
+          return response.body().length();
+     }
+}
@@ -0,0 +1,22 @@
+package com.BankProject.BankApplication.Auth;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+     // Emails are always sent from platform threads: the SMTP transport of Jakarta Mail does its
+     // socket I/O inside synchronized methods, which would pin the carrier threads of virtual threads.
+     // The outbox dispatcher drains with one thread per node, other nodes share the work.
+     @Bean
+     public ThreadPoolTaskExecutor emailExecutor() {
+          ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+          executor.setCorePoolSize(1);
+          executor.setMaxPoolSize(1);
+          executor.setQueueCapacity(1);
+          executor.setThreadNamePrefix("email-");
+          return executor;
+     }
+}
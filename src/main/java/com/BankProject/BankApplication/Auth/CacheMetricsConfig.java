@@ -0,0 +1,30 @@
+package com.BankProject.BankApplication.Auth;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.BankProject.BankApplication.Utils.InstrumentedCacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class CacheMetricsConfig {
+
+     // wraps every cache manager (redis in prod, the in-process one in tests) so each named cache
+     // reports its hits, misses, puts, evictions and latency, see InstrumentedCache
+     @Bean
+     public static BeanPostProcessor instrumentedCacheManagerPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+          return new BeanPostProcessor() {
+               @Override
+               public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof CacheManager cacheManager && !(bean instanceof InstrumentedCacheManager)) {
+                         return new InstrumentedCacheManager(cacheManager, meterRegistry.getObject());
+                    }
+                    return bean;
+               }
+          };
+     }
+}
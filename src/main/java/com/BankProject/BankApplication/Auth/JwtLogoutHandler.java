@@ -0,0 +1,51 @@
+package com.BankProject.BankApplication.Auth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.Service.TokenRevocationStore;
+import com.BankProject.BankApplication.Utils.JwtUtils;
+import com.BankProject.BankApplication.Utils.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+// Logout revokes the bearer token of the request for the rest of its lifetime
+@Component
+@Slf4j
+public class JwtLogoutHandler implements LogoutHandler {
+
+     @Autowired
+     private JwtUtils jwtUtils;
+
+     @Autowired
+     private TokenRevocationStore tokenRevocationStore;
+
+     @Autowired
+     private VerifiedTokenCache verifiedTokenCache;
+
+     @Override
+     public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+          String authHeader = request.getHeader("Authorization");
+          if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+               return;
+          }
+          String token = authHeader.substring(7);
+          try {
+               Claims claims = jwtUtils.extractClaims(token);
+               if (claims.getId() != null) {
+                    tokenRevocationStore.revoke(claims.getId(), claims.getExpiration().toInstant());
+                    log.info("Revoked token of user {}", claims.getSubject());
+               }
+          } catch (JwtException e) {
+               // invalid or expired, nothing to revoke
+               log.debug("Logout with an invalid token: {}", e.getMessage());
+          }
+          verifiedTokenCache.evict(token);
+     }
+}
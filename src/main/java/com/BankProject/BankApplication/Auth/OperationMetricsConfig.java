@@ -0,0 +1,36 @@
+package com.BankProject.BankApplication.Auth;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.BankProject.BankApplication.Utils.JdbcTimingDataSource;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class OperationMetricsConfig {
+
+     // times the methods of classes annotated with @Timed (the services), with their percentile histograms
+     @Bean
+     public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+          return new TimedAspect(meterRegistry);
+     }
+
+     // JDBC time of every service operation, see OperationMetricsAspect
+     @Bean
+     public static BeanPostProcessor jdbcTimingDataSourcePostProcessor() {
+          return new BeanPostProcessor() {
+               @Override
+               public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof JdbcTimingDataSource)) {
+                         return new JdbcTimingDataSource(dataSource);
+                    }
+                    return bean;
+               }
+          };
+     }
+}
@@ -1,18 +1,92 @@
 package com.BankProject.BankApplication.Auth;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.Utils.CacheValueCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
+// only active when redis is the cache type, tests and benchmarks run with spring.cache.type=simple
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
 public class RedisConfig {
 
+     // bumped whenever the cached value format changes incompatibly
+     private static final String KEY_FORMAT_VERSION = "v2";
+
      // CREATED A BEAN FOR REDIS CACHE MANAGER..
      // IT WILL BE USED IN THE SERVICES CLASS FOR STORING CACHE IN REDIS CACHE MANAGER.
+     // values are lean snapshot records in a compact binary format (CacheValueCodec), every cache has its own TTL
+     // keys carry the format version ("v2::accounts::<key>"), entries of the older JDK format are never read
+     @Bean
+     public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry,
+               @Value("${app.cache.ttl.default:PT30M}") Duration defaultTtl,
+               @Value("${app.cache.ttl.accounts:PT10M}") Duration accountsTtl,
+               @Value("${app.cache.ttl.user:PT30M}") Duration userTtl,
+               @Value("${app.cache.ttl.balances:PT1H}") Duration balancesTtl) {
+          Map<String, RedisCacheConfiguration> caches = new HashMap<>();
+          caches.put("accounts", cacheConfiguration("accounts", accountsTtl, meterRegistry));
+          caches.put("user", cacheConfiguration("user", userTtl, meterRegistry));
+          caches.put("balances", cacheConfiguration("balances", balancesTtl, meterRegistry));
+          return RedisCacheManager.builder(redisConnectionFactory)
+                    .cacheDefaults(cacheConfiguration("default", defaultTtl, meterRegistry))
+                    .withInitialCacheConfigurations(caches)
+                    .enableStatistics()
+                    .build();
+     }
+
+     private RedisCacheConfiguration cacheConfiguration(String cacheName, Duration ttl, MeterRegistry meterRegistry) {
+          DistributionSummary entrySize = DistributionSummary.builder("cache.entry.size")
+                    .description("Encoded size of the values written to the cache")
+                    .baseUnit("bytes")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+          return RedisCacheConfiguration.defaultCacheConfig()
+                    .computePrefixWith(RedisConfig::cacheKeyPrefix)
+                    .entryTtl(ttl)
+                    .serializeValuesWith(SerializationPair.fromSerializer(new CacheValueCodec(entrySize)));
+     }
+
+     // prefix of the redis keys of a cache, for code that writes its entries directly
+     public static String cacheKeyPrefix(String cacheName) {
+          return KEY_FORMAT_VERSION + "::" + cacheName + "::";
+     }
+
+     // Template for the capped recent transactions lists, entries are stored as JSON
+     @Bean
+     public RedisTemplate<String, TransactionResponseDTO> recentTransactionsTemplate(
+               RedisConnectionFactory redisConnectionFactory, ObjectMapper objectMapper) {
+          RedisTemplate<String, TransactionResponseDTO> template = new RedisTemplate<>();
+          template.setConnectionFactory(redisConnectionFactory);
+          template.setKeySerializer(new StringRedisSerializer());
+          template.setValueSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, TransactionResponseDTO.class));
+          return template;
+     }
+
+     // Subscriptions to redis channels (balance invalidations between the nodes)
      @Bean
-     public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-          return RedisCacheManager.builder(redisConnectionFactory).build();
+     public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+          RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+          container.setConnectionFactory(redisConnectionFactory);
+          return container;
      }
 }
@@ -9,14 +9,20 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.BankProject.BankApplication.Filters.JwtAuthFilter;
+import com.BankProject.BankApplication.Filters.RateLimitFilter;
+import com.BankProject.BankApplication.Filters.ServerTimingFilter;
+import com.BankProject.BankApplication.Utils.BoundedPasswordEncoder;
+import com.BankProject.BankApplication.Utils.PasswordHashingExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import java.util.Arrays;
 import java.util.List;
@@ -31,6 +37,17 @@ public class SecurityConfig {
      @Autowired
      private JwtAuthFilter JwtAuthFilter;
 
+     @Autowired
+     private JwtLogoutHandler jwtLogoutHandler;
+
+     // opt-in Server-Timing header, a no-op unless app.server-timing.enabled is set
+     @Autowired
+     private ServerTimingFilter serverTimingFilter;
+
+     // token bucket limits per principal (or IP) and endpoint group, after authentication
+     @Autowired
+     private RateLimitFilter rateLimitFilter;
+
      // This is the security filter chain used to authenticate the user .
      @Bean
      public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
@@ -45,8 +62,13 @@ public class SecurityConfig {
                     })
                     .addFilterBefore(JwtAuthFilter,
                               UsernamePasswordAuthenticationFilter.class)
+                    .addFilterBefore(serverTimingFilter, JwtAuthFilter.class)
+                    .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
                     .logout(logout -> {
                          logout.logoutUrl("/logout");
+                         // revokes the jwt token of the request and answers 200 instead of redirecting
+                         logout.addLogoutHandler(jwtLogoutHandler);
+                         logout.logoutSuccessHandler(new HttpStatusReturningLogoutSuccessHandler());
                          // .logoutSuccessUrl("/login");
                     })
                     .build();
@@ -63,7 +85,7 @@ public class SecurityConfig {
           List<String> origins = Arrays.asList(allowedOrigins.split(","));
           configuration.setAllowedOriginPatterns(origins);
           configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-          configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept"));
+          configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Idempotency-Key"));
           configuration.setAllowCredentials(true);
           configuration.setMaxAge(3600L);
 
@@ -73,10 +95,19 @@ public class SecurityConfig {
      }     
 
      // Password encoder that encodes the password in Bcrypt Password encoding
-     // technique
+     // technique, hashing runs on its own bounded pool (see PasswordHashingExecutor)
      @Bean
-     public PasswordEncoder passwordEncoder() {
-          return new BCryptPasswordEncoder();
+     public BoundedPasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+          return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
+     }
+
+     // one hashing thread per core by default, more would only compete for the CPU
+     @Bean(destroyMethod = "shutdown")
+     public PasswordHashingExecutor passwordHashingExecutor(MeterRegistry meterRegistry,
+               @Value("${app.password-hashing.threads:0}") int threads,
+               @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity) {
+          int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+          return new PasswordHashingExecutor(poolSize, queueCapacity, meterRegistry);
      }
 
      @Bean
@@ -1,11 +1,14 @@
 package com.BankProject.BankApplication.Controller;
 
 import java.nio.file.AccessDeniedException;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,20 +18,35 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.BankProject.BankApplication.DTOs.CursorPage;
 import com.BankProject.BankApplication.DTOs.CustomUserInfo;
 import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
+import com.BankProject.BankApplication.Enum.CustomerSort;
+import com.BankProject.BankApplication.Service.BulkRegistrationService;
+import com.BankProject.BankApplication.Service.ExportService;
 import com.BankProject.BankApplication.Service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/admin")
 // This controller is responsible for handling admin functionalities
 public class AdminController {
+     private static final int MAX_PAGE_SIZE = 100;
+
      // This class will handle admin specific functionalities
      // such as managing users, viewing reports, etc.
      @Autowired
      private UserService userService;
 
+     @Autowired
+     private BulkRegistrationService bulkRegistrationService;
+
+     @Autowired
+     private ExportService exportService;
+
      // Add methods for admin functionalities here
      // For example:
      @GetMapping("/users")
@@ -38,12 +56,85 @@ public class AdminController {
           return ResponseEntity.status(HttpStatus.OK).body(userService.getAllUsers(page, size));
      }
 
+     // Keyset paginated customers sorted by accountNumber, balance or accountType,
+     // stays fast however deep the admin pages
+     @GetMapping("/users/cursor")
+     public ResponseEntity<CursorPage<CustomUserInfo>> getCustomers(
+               @RequestParam(defaultValue = "accountNumber") String sort,
+               @RequestParam(defaultValue = "asc") String direction,
+               @RequestParam(required = false) String cursor,
+               @RequestParam(defaultValue = "10") int size) {
+          if (size < 1 || size > MAX_PAGE_SIZE) {
+               throw new IllegalArgumentException("Size should be between 1 and " + MAX_PAGE_SIZE);
+          }
+          CustomerSort customerSort = switch (sort) {
+               case "accountNumber" -> CustomerSort.ACCOUNT_NUMBER;
+               case "balance" -> CustomerSort.BALANCE;
+               case "accountType" -> CustomerSort.ACCOUNT_TYPE;
+               default -> throw new IllegalArgumentException("Sort should be accountNumber, balance or accountType");
+          };
+          if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+               throw new IllegalArgumentException("Direction should be asc or desc");
+          }
+          return ResponseEntity.ok(userService.getCustomers(customerSort, direction.equalsIgnoreCase("desc"),
+                    cursor, size));
+     }
+
      @PostMapping("/users")
      public ResponseEntity<CustomUserInfo> createUser(@RequestBody UserAccountTemplate userAccountTemplate) {
           return ResponseEntity.status(HttpStatus.CREATED)
                     .body(userService.registerUser(userAccountTemplate));
      }
 
+     // Registers customers from a streamed NDJSON (one UserAccountTemplate per line) or CSV upload,
+     // answers with one NDJSON result line per row while the upload is processed
+     @PostMapping(value = "/users/bulk", consumes = { "application/x-ndjson", BulkRegistrationService.CSV },
+               produces = "application/x-ndjson")
+     public ResponseEntity<StreamingResponseBody> bulkRegister(HttpServletRequest request,
+               @RequestParam(defaultValue = "false") boolean sendVerificationEmails) {
+          String contentType = request.getContentType();
+          StreamingResponseBody body = output -> bulkRegistrationService.register(request.getInputStream(),
+                    contentType, sendVerificationEmails, output);
+          return ResponseEntity.status(HttpStatus.OK).body(body);
+     }
+
+     // Streams every user with its account, format=ndjson (default) or csv
+     @GetMapping("/export/users")
+     public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+          ExportService.Format exportFormat = exportFormat(format);
+          return export("users", exportFormat, output -> exportService.exportUsers(exportFormat, output));
+     }
+
+     // Streams transactions, optionally of one account and within [from, to) (ISO date times)
+     @GetMapping("/export/transactions")
+     public ResponseEntity<StreamingResponseBody> exportTransactions(
+               @RequestParam(defaultValue = "ndjson") String format,
+               @RequestParam(required = false) Long accountNumber,
+               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+          ExportService.Format exportFormat = exportFormat(format);
+          return export("transactions", exportFormat,
+                    output -> exportService.exportTransactions(accountNumber, from, to, exportFormat, output));
+     }
+
+     private ExportService.Format exportFormat(String format) {
+          return switch (format.toLowerCase()) {
+               case "ndjson" -> ExportService.Format.NDJSON;
+               case "csv" -> ExportService.Format.CSV;
+               default -> throw new IllegalArgumentException("Format should be ndjson or csv");
+          };
+     }
+
+     private ResponseEntity<StreamingResponseBody> export(String name, ExportService.Format format,
+               StreamingResponseBody body) {
+          boolean csv = format == ExportService.Format.CSV;
+          return ResponseEntity.status(HttpStatus.OK)
+                    .contentType(MediaType.parseMediaType(csv ? BulkRegistrationService.CSV : "application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                              "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                    .body(body);
+     }
+
      @DeleteMapping("/users/{id}")
      public ResponseEntity<?> deleteUser(@PathVariable String id) throws AccessDeniedException {
           // Logic to delete a user by id
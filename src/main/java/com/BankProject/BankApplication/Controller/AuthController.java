@@ -44,8 +44,8 @@ public class AuthController {
           // authenticate the user
           authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword()));
-          // returns the generated jwt token
-          return ResponseEntity.ok().body(jwtUtils.generateToken(authRequest.getUsername()));
+          // returns the generated jwt token, it carries the role and account number of the user
+          return ResponseEntity.ok().body(jwtUtils.generateToken(user));
      }
 
 }
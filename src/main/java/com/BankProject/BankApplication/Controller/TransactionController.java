@@ -1,32 +1,52 @@
 package com.BankProject.BankApplication.Controller;
 
 import java.nio.file.AccessDeniedException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
 
 import javax.naming.directory.InvalidAttributesException;
 import javax.security.auth.login.AccountNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.BankProject.BankApplication.DTOs.CursorPage;
+import com.BankProject.BankApplication.DTOs.MonthlySpendingDTO;
+import com.BankProject.BankApplication.DTOs.StatementDTO;
 import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.DTOs.TransactionSearchCriteria;
 import com.BankProject.BankApplication.DTOs.TransferSlip;
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+import com.BankProject.BankApplication.Service.IdempotencyService;
 import com.BankProject.BankApplication.Service.TransactionService;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @RestController
 @RequestMapping("/transactions")
 public class TransactionController {
+     private static final int MAX_PAGE_SIZE = 100;
+     private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
      @Autowired
      private TransactionService transactionService;
 
+     // retried requests with the same Idempotency-Key header are booked only once
+     @Autowired
+     private IdempotencyService idempotencyService;
+
      // Displays transaction history
      @GetMapping("/history")
      public ResponseEntity<Page<TransactionResponseDTO>> getTransactions(
@@ -36,22 +56,85 @@ public class TransactionController {
           return ResponseEntity.ok(transactions);
      }
 
+     // Cursor based history, latency stays flat however deep the client pages
+     @GetMapping("/history/cursor")
+     public ResponseEntity<CursorPage<TransactionResponseDTO>> getTransactionsByCursor(
+               @RequestParam(required = false) String cursor,
+               @RequestParam(defaultValue = "10") int size) {
+          if (size < 1 || size > MAX_PAGE_SIZE) {
+               throw new IllegalArgumentException("Size should be between 1 and " + MAX_PAGE_SIZE);
+          }
+          return ResponseEntity.ok(transactionService.checkTransactionHistory(cursor, size));
+     }
+
+     // Search by types, time range [from, to) and amount range, answered as a slice without a total count
+     @GetMapping("/search")
+     public ResponseEntity<Slice<TransactionResponseDTO>> searchTransactions(
+               @RequestParam(required = false) List<TransactionTypes> type,
+               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+               @RequestParam(required = false) Double minAmount,
+               @RequestParam(required = false) Double maxAmount,
+               @RequestParam(defaultValue = "0") int page,
+               @RequestParam(defaultValue = "10") int size) {
+          if (size < 1 || size > MAX_PAGE_SIZE) {
+               throw new IllegalArgumentException("Size should be between 1 and " + MAX_PAGE_SIZE);
+          }
+          TransactionSearchCriteria criteria = new TransactionSearchCriteria(type, from, to, minAmount, maxAmount);
+          return ResponseEntity.ok(transactionService.searchTransactions(criteria, page, size));
+     }
+
+     // Monthly count and total per transaction type for the months from..to (yyyy-MM, both included),
+     // the last 12 months by default
+     @GetMapping("/analytics")
+     public ResponseEntity<List<MonthlySpendingDTO>> getMonthlySpending(
+               @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+               @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+          YearMonth end = to != null ? to : YearMonth.now();
+          YearMonth start = from != null ? from : end.minusMonths(11);
+          return ResponseEntity.ok(transactionService.monthlySpending(start, end));
+     }
+
+     // Statement of the logged in user's account for the days from..to (ISO dates, both included)
+     @GetMapping("/statement")
+     public ResponseEntity<StatementDTO> getStatement(
+               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) throws AccountNotFoundException {
+          return ResponseEntity.ok(transactionService.statement(from, to));
+     }
+
      @PostMapping("/deposit")
-     public ResponseEntity<?> deposit(@RequestBody double amount) {
-          TransactionResponseDTO transactions = transactionService.deposit(amount);
+     public ResponseEntity<?> deposit(@RequestBody double amount,
+               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+          TransactionResponseDTO transactions = idempotencyService.execute(idempotencyKey, "deposit", amount,
+                    () -> transactionService.deposit(amount));
           return ResponseEntity.status(HttpStatus.OK).body(transactions);
      }
 
      @PostMapping("/withdraw")
-     public ResponseEntity<?> withdraw(@RequestBody Double amount) {
-          TransactionResponseDTO transactions = transactionService.withdraw(amount);
+     public ResponseEntity<?> withdraw(@RequestBody Double amount,
+               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+          TransactionResponseDTO transactions = idempotencyService.execute(idempotencyKey, "withdraw", amount,
+                    () -> transactionService.withdraw(amount));
           return ResponseEntity.status(HttpStatus.OK).body(transactions);
      }
 
      @PostMapping("/transfer")
-     public ResponseEntity<?> transferAmount(@RequestBody TransferSlip transferSlip)
+     public ResponseEntity<?> transferAmount(@RequestBody TransferSlip transferSlip,
+               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey)
+               throws AccountNotFoundException, AccessDeniedException, InvalidAttributesException {
+          IdempotencyService.Request<AccountNotFoundException, AccessDeniedException, InvalidAttributesException> transfer =
+                    () -> transactionService.transferAmount(transferSlip);
+          TransactionResponseDTO transactions = idempotencyService.execute(idempotencyKey, "transfer", transferSlip,
+                    transfer);
+          return ResponseEntity.status(HttpStatus.OK).body(transactions);
+     }
+
+     // Many transfers from the users account at once, either all of them are booked or none
+     @PostMapping("/transfer/batch")
+     public ResponseEntity<?> transferBatch(@RequestBody List<TransferSlip> transferSlips)
                throws AccountNotFoundException, AccessDeniedException, InvalidAttributesException {
-          TransactionResponseDTO transactions = transactionService.transferAmount(transferSlip);
+          List<TransactionResponseDTO> transactions = transactionService.transferBatch(transferSlips);
           return ResponseEntity.status(HttpStatus.OK).body(transactions);
      }
 
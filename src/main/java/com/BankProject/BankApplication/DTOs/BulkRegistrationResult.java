@@ -0,0 +1,29 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one row of a bulk registration, streamed back as one NDJSON line per row
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationResult implements Serializable {
+
+     public enum Status {
+          CREATED,
+          DUPLICATE,
+          INVALID,
+          FAILED;
+     }
+
+     // 1 based row number in the uploaded file (header excluded)
+     private long row;
+     private String email;
+     private Status status;
+     private String userId;
+     private Long accountNumber;
+     private String message;
+}
@@ -0,0 +1,17 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Enum.AccountType;
+
+// What the "accounts" cache keeps of an account: its own columns only,
+// no user, no transactions and no Hibernate proxies
+public record CachedAccount(Long accountNumber, double balance, long version, AccountType accountType)
+          implements Serializable {
+
+     public static CachedAccount of(Account account) {
+          return new CachedAccount(account.getAccountNumber(), account.getBalance(), account.getVersion(),
+                    account.getAccountType());
+     }
+}
@@ -0,0 +1,8 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+
+// Balance of an account together with the account version it was read at,
+// lets the balance caches tell a newer balance from an older one
+public record CachedBalance(double balance, long version) implements Serializable {
+}
@@ -0,0 +1,17 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.Role;
+
+// What the "user" cache keeps of a user, without the password hash and the account graph
+public record CachedUser(String userId, String fullName, String email, Role role, boolean enabled,
+          Long accountNumber) implements Serializable {
+
+     public static CachedUser of(User user) {
+          return new CachedUser(user.getUserId(), user.getFullName(), user.getEmail(), user.getRole(),
+                    Boolean.TRUE.equals(user.getIsEnabled()),
+                    user.getAccount() != null ? user.getAccount().getAccountNumber() : null);
+     }
+}
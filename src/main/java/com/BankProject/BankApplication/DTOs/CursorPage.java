@@ -0,0 +1,18 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One page of a keyset paginated listing, nextCursor is passed back to get the following page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> implements Serializable {
+     private List<T> content;
+     private String nextCursor;
+     private boolean hasNext;
+}
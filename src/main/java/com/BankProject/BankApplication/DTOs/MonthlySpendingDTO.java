@@ -0,0 +1,20 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySpendingDTO implements Serializable {
+     private YearMonth month;
+     private TransactionTypes type;
+     private long transactionCount;
+     private double totalAmount;
+}
@@ -0,0 +1,22 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Account statement for the days from..to (both included)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementDTO implements Serializable {
+     private Long accountNumber;
+     private LocalDate from;
+     private LocalDate to;
+     private double openingBalance;
+     private double closingBalance;
+     private List<TransactionResponseDTO> transactions;
+}
@@ -0,0 +1,23 @@
+package com.BankProject.BankApplication.DTOs;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Filters of the transaction search, every one is optional; time range is [from, to), amounts are inclusive
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchCriteria implements Serializable {
+     private List<TransactionTypes> types;
+     private LocalDateTime from;
+     private LocalDateTime to;
+     private Double minAmount;
+     private Double maxAmount;
+}
@@ -11,19 +11,29 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// keyset orders of the admin customer listing
+@Table(indexes = {
+          @Index(name = "idx_account_balance", columnList = "balance, account_number"),
+          @Index(name = "idx_account_type", columnList = "account_type, account_number") })
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Account implements Serializable {
      @Id
      @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_number_sequence")
+     // Numbers are reserved in blocks of 50 per node (pooled-lo, see LockFreePooledLoOptimizer)
+     // and handed out from memory, so account numbers can have gaps
      @SequenceGenerator(name = "account_number_sequence", // Name of the generator in JPA
                sequenceName = "account_number_seq", // Name of the actual DB sequence to create
                initialValue = 1462000000, // Your desired starting account number
-               allocationSize = 1 // How much to increment the sequence by
+               allocationSize = 50 // Block size, the sequence must increment by the same amount
      )
      private Long accountNumber;
      private double balance;
+     // optimistic lock, catches balance updates made concurrently by another application node
+     @Version
+     @Column(columnDefinition = "bigint default 0 not null")
+     private long version;
      @Enumerated(EnumType.STRING)
      private AccountType accountType;
      // One-to-one relationship with User (inverse side)
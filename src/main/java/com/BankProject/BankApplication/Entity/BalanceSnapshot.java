@@ -0,0 +1,34 @@
+package com.BankProject.BankApplication.Entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Closing balance of an account at the end of a day, written by the BalanceSnapshotService.
+// The primary key (account_number, snapshot_date) finds the nearest snapshot of an account with one index seek
+@Entity
+@IdClass(BalanceSnapshot.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot {
+     @Id
+     private Long accountNumber;
+     @Id
+     private LocalDate snapshotDate;
+     private double closingBalance;
+
+     @Data
+     @NoArgsConstructor
+     @AllArgsConstructor
+     public static class Key implements Serializable {
+          private Long accountNumber;
+          private LocalDate snapshotDate;
+     }
+}
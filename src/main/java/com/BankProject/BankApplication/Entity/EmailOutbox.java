@@ -0,0 +1,45 @@
+package com.BankProject.BankApplication.Entity;
+
+import java.time.LocalDateTime;
+
+import com.BankProject.BankApplication.Enum.EmailStatus;
+import com.BankProject.BankApplication.Utils.TimeOrderedId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Email waiting to be sent, written in the same DB transaction as the change that caused it
+// and delivered later by the EmailOutboxDispatcher
+@Entity
+@Table(indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+     @Id
+     @TimeOrderedId
+     @Column(length = 36)
+     private String id;
+     private String recipient;
+     private String subject;
+     @Lob
+     private String body;
+     @Enumerated(EnumType.STRING)
+     @Column(length = 16)
+     private EmailStatus status;
+     private int attempts;
+     private LocalDateTime nextAttemptAt;
+     private LocalDateTime createdAt;
+     private LocalDateTime sentAt;
+     @Column(length = 1000)
+     private String lastError;
+}
@@ -0,0 +1,47 @@
+package com.BankProject.BankApplication.Entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Count and total of the transactions of one type in one month of an account, incremented by the
+// SpendingRollupService in the transaction that records them
+@Entity
+@IdClass(SpendingRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingRollup {
+     @Id
+     private Long accountNumber;
+     // first day of the month
+     @Id
+     @Column(name = "rollup_month")
+     private LocalDate month;
+     @Id
+     @Enumerated(EnumType.STRING)
+     @Column(length = 16)
+     private TransactionTypes type;
+     private long transactionCount;
+     private double totalAmount;
+
+     @Data
+     @NoArgsConstructor
+     @AllArgsConstructor
+     public static class Key implements Serializable {
+          private Long accountNumber;
+          private LocalDate month;
+          private TransactionTypes type;
+     }
+}
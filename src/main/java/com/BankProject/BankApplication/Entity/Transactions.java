@@ -3,6 +3,7 @@ package com.BankProject.BankApplication.Entity;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import com.BankProject.BankApplication.Enum.TransactionTypes;
+import com.BankProject.BankApplication.Utils.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -13,10 +14,19 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+// backs the history of an account ordered by time, see TransactionRepository.findHistory,
+// and the search by type and time range, see TransactionRepositoryImpl,
+// the export of all accounts streams in (time, transaction_id) order, see ExportService
+@Table(indexes = {
+          @Index(name = "idx_transactions_account_time", columnList = "account_id, time, transaction_id"),
+          @Index(name = "idx_transactions_account_type_time", columnList = "account_id, type, time"),
+          @Index(name = "idx_transactions_time", columnList = "time, transaction_id") })
 public class Transactions implements Serializable {
 
+     // time ordered, so inserts land at the end of the primary key and history index
      @Id
-     @GeneratedValue(strategy = GenerationType.UUID)
+     @TimeOrderedId
+     @Column(length = 36)
      private String transactionId;
      @NotNull
      Double amount;
@@ -5,6 +5,7 @@ package com.BankProject.BankApplication.Entity;
 import java.io.Serializable;
 
 import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Utils.TimeOrderedId;
 import jakarta.persistence.*; // Import all from persistence
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
@@ -18,8 +19,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Table(name = "users") // Good practice to explicitly name table if it conflicts with SQL keywords
 public class User implements Serializable{
+     // time ordered uuid, see UuidV7
      @Id
-     @GeneratedValue(strategy = GenerationType.UUID)
+     @TimeOrderedId
+     @Column(length = 36)
      private String userId;
 
      @NotNull(message = "Please Enter Your Full name")
@@ -0,0 +1,19 @@
+package com.BankProject.BankApplication.Enum;
+
+// Orders of the admin customer listing, ties are broken by the account number
+public enum CustomerSort {
+     ACCOUNT_NUMBER("a.accountNumber"),
+     BALANCE("a.balance"),
+     ACCOUNT_TYPE("a.accountType");
+
+     private final String path;
+
+     CustomerSort(String path) {
+          this.path = path;
+     }
+
+     // JPQL path of the sorted attribute
+     public String getPath() {
+          return path;
+     }
+}
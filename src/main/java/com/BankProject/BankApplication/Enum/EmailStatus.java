@@ -0,0 +1,8 @@
+package com.BankProject.BankApplication.Enum;
+
+public enum EmailStatus {
+     PENDING,
+     SENT,
+     // gave up after the maximum number of attempts
+     FAILED;
+}
@@ -0,0 +1,57 @@
+package com.BankProject.BankApplication.Enum;
+
+import java.util.List;
+
+import org.springframework.util.AntPathMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Endpoint groups with their own rate limits (app.rate-limit.<key>.requests-per-second and .burst),
+// a request belongs to the first group that matches it
+public enum RateLimitGroup {
+     AUTH("auth", null, 2, 10, "/login", "/authenticate", "/api/**", "/user/verify"),
+     TRANSACTION_WRITES("transaction-writes", "POST", 5, 20, "/transactions/**"),
+     READS("reads", "GET", 10, 40, "/transactions/**", "/user/**"),
+     ADMIN("admin", null, 20, 100, "/admin/**"),
+     DEFAULT("default", null, 20, 100);
+
+     private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+     private final String key;
+     private final String method;
+     private final double defaultRequestsPerSecond;
+     private final int defaultBurst;
+     private final List<String> patterns;
+
+     RateLimitGroup(String key, String method, double defaultRequestsPerSecond, int defaultBurst, String... patterns) {
+          this.key = key;
+          this.method = method;
+          this.defaultRequestsPerSecond = defaultRequestsPerSecond;
+          this.defaultBurst = defaultBurst;
+          this.patterns = List.of(patterns);
+     }
+
+     public static RateLimitGroup of(HttpServletRequest request) {
+          String path = request.getRequestURI().substring(request.getContextPath().length());
+          for (RateLimitGroup group : values()) {
+               if ((group.method == null || group.method.equals(request.getMethod()))
+                         && group.patterns.stream().anyMatch(pattern -> MATCHER.match(pattern, path))) {
+                    return group;
+               }
+          }
+          return DEFAULT;
+     }
+
+     // name of the group in the properties, metrics and bucket keys
+     public String getKey() {
+          return key;
+     }
+
+     public double getDefaultRequestsPerSecond() {
+          return defaultRequestsPerSecond;
+     }
+
+     public int getDefaultBurst() {
+          return defaultBurst;
+     }
+}
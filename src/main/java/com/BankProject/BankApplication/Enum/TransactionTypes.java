@@ -6,5 +6,9 @@ public enum TransactionTypes {
      DEPOSIT,
      WITHDRAW,
      TRANSFER;
-                         
+
+     // credits and deposits add to the balance, everything else takes away
+     public boolean increasesBalance() {
+          return this == CREDIT || this == DEPOSIT;
+     }
 }
@@ -1,5 +1,6 @@
 package com.BankProject.BankApplication.Exceptions; // Or wherever your GlobalExceptionHandler is located
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -62,6 +63,41 @@ public class GlobalExceptionHandler {
           return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
      }
 
+     // Password hashing pool is saturated (login storm) or the client is rate limited, it should retry later
+     @ExceptionHandler(TooManyRequestsException.class)
+     public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex,
+               WebRequest request) {
+          ErrorResponse errorResponse = new ErrorResponse(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    ex.getMessage(),
+                    request.getDescription(false).replace("uri=", ""));
+          return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(errorResponse);
+     }
+
+     // Retry of a request that is still running with the same Idempotency-Key
+     @ExceptionHandler(IdempotencyConflictException.class)
+     public ResponseEntity<ErrorResponse> handleIdempotencyConflictException(IdempotencyConflictException ex,
+               WebRequest request) {
+          ErrorResponse errorResponse = new ErrorResponse(
+                    HttpStatus.CONFLICT,
+                    ex.getMessage(),
+                    request.getDescription(false).replace("uri=", ""));
+          return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+     }
+
+     // Idempotency-Key reused for a request with another body
+     @ExceptionHandler(IdempotencyKeyMismatchException.class)
+     public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex,
+               WebRequest request) {
+          ErrorResponse errorResponse = new ErrorResponse(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    ex.getMessage(),
+                    request.getDescription(false).replace("uri=", ""));
+          return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+     }
+
      // General exception handler for any other unhandled exceptions
      // IMPORTANT: In production, you might want to log the full trace but send a
      // generic message to the client.
@@ -0,0 +1,11 @@
+package com.BankProject.BankApplication.Exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT) // Spring responds with 409
+public class IdempotencyConflictException extends RuntimeException {
+     public IdempotencyConflictException(String message) {
+          super(message);
+     }
+}
@@ -0,0 +1,11 @@
+package com.BankProject.BankApplication.Exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY) // Spring responds with 422
+public class IdempotencyKeyMismatchException extends RuntimeException {
+     public IdempotencyKeyMismatchException(String message) {
+          super(message);
+     }
+}
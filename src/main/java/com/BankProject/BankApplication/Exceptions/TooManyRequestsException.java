@@ -0,0 +1,24 @@
+package com.BankProject.BankApplication.Exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS) // Spring responds with 429
+public class TooManyRequestsException extends RuntimeException {
+
+     // sent as the Retry-After header
+     private final long retryAfterSeconds;
+
+     public TooManyRequestsException(String message) {
+          this(message, 1);
+     }
+
+     public TooManyRequestsException(String message, long retryAfterSeconds) {
+          super(message);
+          this.retryAfterSeconds = retryAfterSeconds;
+     }
+
+     public long getRetryAfterSeconds() {
+          return retryAfterSeconds;
+     }
+}
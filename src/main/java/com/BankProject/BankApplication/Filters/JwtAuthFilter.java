@@ -3,6 +3,7 @@ package com.BankProject.BankApplication.Filters;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,13 +12,21 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.BankProject.BankApplication.Service.CustomUserDetailsService;
+import com.BankProject.BankApplication.Service.TokenRevocationStore;
 import com.BankProject.BankApplication.Utils.JwtUtils;
+import com.BankProject.BankApplication.Utils.OperationTimings;
+import com.BankProject.BankApplication.Utils.TokenPrincipal;
+import com.BankProject.BankApplication.Utils.VerifiedTokenCache;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 @Component
+@Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
      @Autowired
@@ -26,36 +35,92 @@ public class JwtAuthFilter extends OncePerRequestFilter {
      @Autowired
      private CustomUserDetailsService customUserDetailsService;
 
+     @Autowired
+     private VerifiedTokenCache verifiedTokenCache;
+
+     // tokens logged out before they expired
+     @Autowired
+     private TokenRevocationStore tokenRevocationStore;
+
+     // stateless mode: the user is taken from the signed claims of the token, no DB call per request
+     @Value("${app.jwt.stateless:false}")
+     private boolean stateless;
+
      @Override
      protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
                throws ServletException, IOException {
           // getting authheader from the authorization
           String authHeader = request.getHeader("Authorization");
-          String token = null;
-          String username = null;
-          if (authHeader != null && authHeader.startsWith("Bearer ")) {
+          if (authHeader != null && authHeader.startsWith("Bearer ")
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
                // setting the token
-               token = authHeader.substring(7);
-               // extracting the username from the jwt token
-               username = jwtUtils.extractUsername(token);
-
+               String token = authHeader.substring(7);
+               try {
+                    UsernamePasswordAuthenticationToken authToken = stateless ? fromClaims(token) : fromDatabase(token);
+                    if (authToken != null) {
+                         // Setting up the details of the authtoken
+                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                         SecurityContextHolder.getContext().setAuthentication(authToken);
+                    }
+               } catch (JwtException e) {
+                    // invalid or expired token, the request goes on unauthenticated
+                    log.debug("Rejected jwt token: {}", e.getMessage());
+               }
           }
-          
-          // geting userdtails from the jwt token
-          if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-               UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-
-               if (jwtUtils.validateToken(username, userDetails, token)) {
-                    // creating username password auth token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
-                              null, userDetails.getAuthorities());
-                    // Setting up the details of the authtoken
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+          filterChain.doFilter(request, response);
+     }
+
+     // signature is verified at most once per token, repeated tokens come from the cache
+     private UsernamePasswordAuthenticationToken fromClaims(String token) {
+          TokenPrincipal principal = verifiedTokenCache.get(token);
+          if (principal == null) {
+               long start = System.nanoTime();
+               try {
+                    principal = jwtUtils.parsePrincipal(token);
+               } finally {
+                    OperationTimings.addJwt(System.nanoTime() - start);
                }
+               if (principal == null) {
+                    // token issued before the claims were added
+                    return fromDatabase(token);
+               }
+               verifiedTokenCache.put(token, principal);
+          }
+          if (isRevoked(principal.tokenId())) {
+               return null;
+          }
+          return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+     }
 
+     // geting userdtails from the DB, the token is parsed once
+     private UsernamePasswordAuthenticationToken fromDatabase(String token) {
+          long start = System.nanoTime();
+          Claims claims;
+          try {
+               claims = jwtUtils.extractClaims(token);
+          } finally {
+               OperationTimings.addJwt(System.nanoTime() - start);
           }
-          filterChain.doFilter(request, response);
+          if (isRevoked(claims.getId())) {
+               return null;
+          }
+          start = System.nanoTime();
+          UserDetails userDetails;
+          try {
+               userDetails = customUserDetailsService.loadUserByUsername(claims.getSubject());
+          } finally {
+               OperationTimings.addUserLookup(System.nanoTime() - start);
+          }
+          if (!jwtUtils.validateToken(claims, userDetails)) {
+               return null;
+          }
+          // creating username password auth token
+          return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+     }
+
+     // tokens issued without an id can not be revoked
+     private boolean isRevoked(String tokenId) {
+          return tokenId != null && tokenRevocationStore.isRevoked(tokenId);
      }
 
 }
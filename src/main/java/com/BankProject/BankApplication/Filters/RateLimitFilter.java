@@ -0,0 +1,100 @@
+package com.BankProject.BankApplication.Filters;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.BankProject.BankApplication.Enum.RateLimitGroup;
+import com.BankProject.BankApplication.Exceptions.TooManyRequestsException;
+import com.BankProject.BankApplication.Service.RateLimiter;
+import com.BankProject.BankApplication.Service.RateLimiter.Limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Token bucket rate limit per endpoint group (RateLimitGroup) and client, right after JwtAuthFilter:
+ * authenticated requests are counted per principal, anonymous ones per IP address.
+ * A rejected request is answered with 429 and Retry-After before it reaches a controller,
+ * so it never touches the database.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+     @Value("${app.rate-limit.enabled:true}")
+     private boolean enabled;
+
+     @Autowired
+     private RateLimiter rateLimiter;
+
+     @Autowired
+     private Environment environment;
+
+     @Autowired
+     private MeterRegistry meterRegistry;
+
+     // answers with the 429 of GlobalExceptionHandler
+     @Autowired
+     @Qualifier("handlerExceptionResolver")
+     private HandlerExceptionResolver handlerExceptionResolver;
+
+     private final Map<RateLimitGroup, Limit> limits = new EnumMap<>(RateLimitGroup.class);
+
+     @PostConstruct
+     void init() {
+          for (RateLimitGroup group : RateLimitGroup.values()) {
+               String prefix = "app.rate-limit." + group.getKey();
+               double requestsPerSecond = environment.getProperty(prefix + ".requests-per-second", Double.class,
+                         group.getDefaultRequestsPerSecond());
+               int burst = environment.getProperty(prefix + ".burst", Integer.class, group.getDefaultBurst());
+               if (requestsPerSecond <= 0 || burst < 1) {
+                    throw new IllegalStateException("Invalid rate limit for " + group.getKey());
+               }
+               limits.put(group, new Limit(requestsPerSecond, burst));
+          }
+     }
+
+     @Override
+     protected boolean shouldNotFilter(HttpServletRequest request) {
+          return !enabled;
+     }
+
+     @Override
+     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+               throws ServletException, IOException {
+          RateLimitGroup group = RateLimitGroup.of(request);
+          long waitNanos = rateLimiter.tryAcquire(group.getKey() + ":" + client(request), limits.get(group));
+          if (waitNanos > 0) {
+               meterRegistry.counter("http.rate-limit.rejected", "group", group.getKey()).increment();
+               long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+               handlerExceptionResolver.resolveException(request, response, null,
+                         new TooManyRequestsException("Too many requests, please try again later", retryAfterSeconds));
+               return;
+          }
+          filterChain.doFilter(request, response);
+     }
+
+     private static String client(HttpServletRequest request) {
+          Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+          if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+               return "user:" + authentication.getName();
+          }
+          return "ip:" + request.getRemoteAddr();
+     }
+}
@@ -0,0 +1,98 @@
+package com.BankProject.BankApplication.Filters;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.BankProject.BankApplication.Utils.OperationTimings;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Opt-in (app.server-timing.enabled) breakdown of where the time of a request went: jwt verification,
+ * user lookup, SQL statements (count and time) and cache calls (count and time).
+ * Sent as a Server-Timing header, shown by the browser devtools next to the request, and logged
+ * as one key=value line per request. Runs right before JwtAuthFilter, so authentication is included.
+ * The header is written when the response is committed, the log line has the totals of the whole request.
+ */
+@Component
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+     @Value("${app.server-timing.enabled:false}")
+     private boolean enabled;
+
+     @Override
+     protected boolean shouldNotFilter(HttpServletRequest request) {
+          return !enabled;
+     }
+
+     @Override
+     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+               throws ServletException, IOException {
+          long start = System.nanoTime();
+          OperationTimings timings = OperationTimings.start();
+          ServerTimingResponse timedResponse = new ServerTimingResponse(response, timings, start);
+          try {
+               filterChain.doFilter(request, timedResponse);
+          } finally {
+               OperationTimings.clear();
+               // nothing was written (empty body), the header can still go out
+               if (!response.isCommitted()) {
+                    timedResponse.writeHeader();
+               }
+               log.info("server-timing method={} uri={} status={} total_ms={} jwt_ms={} user_ms={} db_statements={} db_ms={} cache_calls={} cache_ms={}",
+                         request.getMethod(), request.getRequestURI(), response.getStatus(),
+                         millis(System.nanoTime() - start), millis(timings.jwtNanos()), millis(timings.userLookupNanos()),
+                         timings.statements(), millis(timings.jdbcNanos()), timings.cacheCalls(), millis(timings.cacheNanos()));
+          }
+     }
+
+     // Server-Timing: jwt;dur=0.412, user;dur=1.250, db;desc="3 statements";dur=2.031, cache;desc="1 calls";dur=0.310, total;dur=6.874
+     static String headerValue(OperationTimings timings, long totalNanos) {
+          return "jwt;dur=" + millis(timings.jwtNanos())
+                    + ", user;dur=" + millis(timings.userLookupNanos())
+                    + ", db;desc=\"" + timings.statements() + " statements\";dur=" + millis(timings.jdbcNanos())
+                    + ", cache;desc=\"" + timings.cacheCalls() + " calls\";dur=" + millis(timings.cacheNanos())
+                    + ", total;dur=" + millis(totalNanos);
+     }
+
+     private static String millis(long nanos) {
+          return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+     }
+
+     // adds the header right before the status and headers are sent
+     private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+          private final OperationTimings timings;
+          private final long start;
+          private boolean written;
+
+          ServerTimingResponse(HttpServletResponse response, OperationTimings timings, long start) {
+               super(response);
+               this.timings = timings;
+               this.start = start;
+          }
+
+          @Override
+          protected void onResponseCommitted() {
+               writeHeader();
+          }
+
+          void writeHeader() {
+               if (!written) {
+                    written = true;
+                    ((HttpServletResponse) getResponse()).addHeader("Server-Timing",
+                              headerValue(timings, System.nanoTime() - start));
+               }
+          }
+     }
+}
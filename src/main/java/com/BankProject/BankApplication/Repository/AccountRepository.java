@@ -1,13 +1,34 @@
 package com.BankProject.BankApplication.Repository;
 
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.BankProject.BankApplication.DTOs.CachedBalance;
 import com.BankProject.BankApplication.Entity.Account;
+
+import jakarta.persistence.LockModeType;
 @Repository
 public interface AccountRepository extends JpaRepository<Account,Long> {
-     Double findBalanceByAccountNumber(Long accountNumber);
+     // only the balance column, without loading the account entity
+     @Query("SELECT a.balance FROM Account a WHERE a.accountNumber = :accountNumber")
+     Double findBalanceByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+     @Query("SELECT new com.BankProject.BankApplication.DTOs.CachedBalance(a.balance, a.version) FROM Account a WHERE a.accountNumber = :accountNumber")
+     Optional<CachedBalance> findCachedBalance(@Param("accountNumber") Long accountNumber);
+
+     // loads and row locks (SELECT ... FOR UPDATE) all accounts in account number order,
+     // every node locks in the same order so batch transfers can not deadlock in the DB
+     @Lock(LockModeType.PESSIMISTIC_WRITE)
+     List<Account> findByAccountNumberInOrderByAccountNumber(Collection<Long> accountNumbers);
 
+     long countByAccountNumberIn(Collection<Long> accountNumbers);
     
 }
@@ -0,0 +1,25 @@
+package com.BankProject.BankApplication.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.BankProject.BankApplication.Entity.BalanceSnapshot;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshot.Key> {
+
+     // latest snapshot of the account on or before the day
+     Optional<BalanceSnapshot> findFirstByAccountNumberAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+               Long accountNumber, LocalDate day);
+
+     // earliest snapshot of the account on or after the day
+     Optional<BalanceSnapshot> findFirstByAccountNumberAndSnapshotDateGreaterThanEqualOrderBySnapshotDateAsc(
+               Long accountNumber, LocalDate day);
+
+     @Query("SELECT MAX(s.snapshotDate) FROM BalanceSnapshot s")
+     LocalDate findLatestSnapshotDate();
+}
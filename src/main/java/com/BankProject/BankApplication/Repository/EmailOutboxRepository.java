@@ -0,0 +1,23 @@
+package com.BankProject.BankApplication.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.BankProject.BankApplication.Entity.EmailOutbox;
+import com.BankProject.BankApplication.Enum.EmailStatus;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, String> {
+
+     // locks the next due emails, rows locked by another node are skipped instead of waited for
+     @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+               + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+     List<EmailOutbox> lockDueEmails(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+     long countByStatus(EmailStatus status);
+}
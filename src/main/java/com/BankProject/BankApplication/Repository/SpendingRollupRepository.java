@@ -0,0 +1,17 @@
+package com.BankProject.BankApplication.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.BankProject.BankApplication.Entity.SpendingRollup;
+
+@Repository
+public interface SpendingRollupRepository extends JpaRepository<SpendingRollup, SpendingRollup.Key> {
+
+     // a range of the primary key, at most one row per month and type
+     List<SpendingRollup> findByAccountNumberAndMonthBetween(Long accountNumber,
+               LocalDate from, LocalDate to);
+}
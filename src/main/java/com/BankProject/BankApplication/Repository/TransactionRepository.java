@@ -1,13 +1,60 @@
 package com.BankProject.BankApplication.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
 import com.BankProject.BankApplication.Entity.Transactions;
 @Repository
-public interface TransactionRepository extends JpaRepository<Transactions, String> {
+public interface TransactionRepository extends JpaRepository<Transactions, String>, TransactionRepositoryCustom {
+     // amount with the sign of its effect on the balance, credits and deposits add, everything else takes away
+     String SIGNED_AMOUNT = "CASE WHEN t.type IN (com.BankProject.BankApplication.Enum.TransactionTypes.CREDIT, "
+               + "com.BankProject.BankApplication.Enum.TransactionTypes.DEPOSIT) THEN t.amount ELSE -t.amount END";
+
      Page<Transactions> findByAccount_AccountNumber(Long accountNumber, Pageable pageable);
 
+     long countByAccount_AccountNumber(Long accountNumber);
+
+     // keyset pagination over the (account_id, time, transaction_id) index, projected straight into the DTO
+     // the first page also rebuilds the recent transactions cache
+     @Query("SELECT new com.BankProject.BankApplication.DTOs.TransactionResponseDTO("
+               + "t.transactionId, t.amount, t.type, t.time, t.account.accountNumber) "
+               + "FROM Transactions t WHERE t.account.accountNumber = :accountNumber "
+               + "ORDER BY t.time DESC, t.transactionId DESC")
+     List<TransactionResponseDTO> findHistory(@Param("accountNumber") Long accountNumber, Limit limit);
+
+     @Query("SELECT new com.BankProject.BankApplication.DTOs.TransactionResponseDTO("
+               + "t.transactionId, t.amount, t.type, t.time, t.account.accountNumber) "
+               + "FROM Transactions t WHERE t.account.accountNumber = :accountNumber "
+               + "AND (t.time < :time OR (t.time = :time AND t.transactionId < :transactionId)) "
+               + "ORDER BY t.time DESC, t.transactionId DESC")
+     List<TransactionResponseDTO> findHistoryAfter(@Param("accountNumber") Long accountNumber,
+               @Param("time") LocalDateTime time, @Param("transactionId") String transactionId, Limit limit);
+
+     // net change of the balance within [from, to), a range scan of the (account_id, time) index
+     @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM Transactions t "
+               + "WHERE t.account.accountNumber = :accountNumber AND t.time >= :from AND t.time < :to")
+     double sumSignedAmount(@Param("accountNumber") Long accountNumber, @Param("from") LocalDateTime from,
+               @Param("to") LocalDateTime to);
+
+     // net change of the balance since the given time
+     @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM Transactions t "
+               + "WHERE t.account.accountNumber = :accountNumber AND t.time >= :from")
+     double sumSignedAmountSince(@Param("accountNumber") Long accountNumber, @Param("from") LocalDateTime from);
+
+     // transactions within [from, to) in the order they happened
+     @Query("SELECT new com.BankProject.BankApplication.DTOs.TransactionResponseDTO("
+               + "t.transactionId, t.amount, t.type, t.time, t.account.accountNumber) "
+               + "FROM Transactions t WHERE t.account.accountNumber = :accountNumber "
+               + "AND t.time >= :from AND t.time < :to ORDER BY t.time, t.transactionId")
+     List<TransactionResponseDTO> findStatement(@Param("accountNumber") Long accountNumber,
+               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
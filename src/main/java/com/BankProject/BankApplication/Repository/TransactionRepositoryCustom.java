@@ -0,0 +1,13 @@
+package com.BankProject.BankApplication.Repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.DTOs.TransactionSearchCriteria;
+
+public interface TransactionRepositoryCustom {
+
+     // transactions of the account matching the criteria, newest first, without counting all matches
+     Slice<TransactionResponseDTO> search(Long accountNumber, TransactionSearchCriteria criteria, Pageable pageable);
+}
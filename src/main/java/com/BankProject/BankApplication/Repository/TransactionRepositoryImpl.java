@@ -0,0 +1,69 @@
+package com.BankProject.BankApplication.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.DTOs.TransactionSearchCriteria;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+// Builds the search from the filters that are set only. With types the query is a range scan of the
+// (account_id, type, time) index, without it of (account_id, time, transaction_id); amounts are checked
+// on the rows of that range. One row more than the page is read instead of a COUNT over all matches.
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+     private static final String SELECT = "SELECT new com.BankProject.BankApplication.DTOs.TransactionResponseDTO("
+               + "t.transactionId, t.amount, t.type, t.time, t.account.accountNumber) "
+               + "FROM Transactions t WHERE t.account.accountNumber = :accountNumber";
+
+     @PersistenceContext
+     private EntityManager entityManager;
+
+     @Override
+     public Slice<TransactionResponseDTO> search(Long accountNumber, TransactionSearchCriteria criteria,
+               Pageable pageable) {
+          StringBuilder jpql = new StringBuilder(SELECT);
+          Map<String, Object> parameters = new HashMap<>();
+          parameters.put("accountNumber", accountNumber);
+          if (criteria.getTypes() != null && !criteria.getTypes().isEmpty()) {
+               jpql.append(" AND t.type IN :types");
+               parameters.put("types", criteria.getTypes());
+          }
+          if (criteria.getFrom() != null) {
+               jpql.append(" AND t.time >= :from");
+               parameters.put("from", criteria.getFrom());
+          }
+          if (criteria.getTo() != null) {
+               jpql.append(" AND t.time < :to");
+               parameters.put("to", criteria.getTo());
+          }
+          if (criteria.getMinAmount() != null) {
+               jpql.append(" AND t.amount >= :minAmount");
+               parameters.put("minAmount", criteria.getMinAmount());
+          }
+          if (criteria.getMaxAmount() != null) {
+               jpql.append(" AND t.amount <= :maxAmount");
+               parameters.put("maxAmount", criteria.getMaxAmount());
+          }
+          jpql.append(" ORDER BY t.time DESC, t.transactionId DESC");
+
+          TypedQuery<TransactionResponseDTO> query = entityManager.createQuery(jpql.toString(),
+                    TransactionResponseDTO.class);
+          parameters.forEach(query::setParameter);
+          List<TransactionResponseDTO> transactions = query
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize() + 1)
+                    .getResultList();
+          boolean hasNext = transactions.size() > pageable.getPageSize();
+          return new SliceImpl<>(hasNext ? transactions.subList(0, pageable.getPageSize()) : transactions,
+                    pageable, hasNext);
+     }
+}
@@ -1,15 +1,30 @@
 package com.BankProject.BankApplication.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.BankProject.BankApplication.DTOs.CustomUserInfo;
 import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.Role;
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, String>, UserRepositoryCustom {
       @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
       Optional<User> findUserByEmailIgnoreCase(@Param("email") String email);// @Param("email")
+
+      // lower cased emails out of the given (lower cased) ones that are already registered
+      @Query("SELECT LOWER(u.email) FROM User u WHERE LOWER(u.email) IN :emails")
+      Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+      // customers joined with their accounts in one query, the count runs on the same filter
+      @Query(value = "SELECT new com.BankProject.BankApplication.DTOs.CustomUserInfo(u.userId, u.fullName, u.email, u.role, a.accountNumber, a.balance, a.accountType) FROM User u JOIN u.account a WHERE u.role = :role",
+                countQuery = "SELECT COUNT(u) FROM User u JOIN u.account a WHERE u.role = :role")
+      Page<CustomUserInfo> findUserInfoByRole(@Param("role") Role role, Pageable pageable);
 }
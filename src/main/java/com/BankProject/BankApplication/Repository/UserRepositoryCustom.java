@@ -0,0 +1,13 @@
+package com.BankProject.BankApplication.Repository;
+
+import java.util.List;
+
+import com.BankProject.BankApplication.DTOs.CustomUserInfo;
+import com.BankProject.BankApplication.Enum.CustomerSort;
+
+public interface UserRepositoryCustom {
+
+     // customers (role USER with an account) after the given keyset position, null for the first page
+     List<CustomUserInfo> findCustomers(CustomerSort sort, boolean descending, Object afterValue,
+               Long afterAccountNumber, int limit);
+}
@@ -0,0 +1,56 @@
+package com.BankProject.BankApplication.Repository;
+
+import java.util.List;
+
+import com.BankProject.BankApplication.DTOs.CustomUserInfo;
+import com.BankProject.BankApplication.Enum.CustomerSort;
+import com.BankProject.BankApplication.Enum.Role;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+// Keyset query over the customers: the join, the role filter and the order all run in SQL
+// and every page is a range scan of the (sorted column, account_number) index of the account table
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+     private static final String SELECT = "SELECT new com.BankProject.BankApplication.DTOs.CustomUserInfo("
+               + "u.userId, u.fullName, u.email, u.role, a.accountNumber, a.balance, a.accountType) "
+               + "FROM User u JOIN u.account a WHERE u.role = :role";
+
+     @PersistenceContext
+     private EntityManager entityManager;
+
+     @Override
+     public List<CustomUserInfo> findCustomers(CustomerSort sort, boolean descending, Object afterValue,
+               Long afterAccountNumber, int limit) {
+          String direction = descending ? "DESC" : "ASC";
+          String after = descending ? "<" : ">";
+          StringBuilder jpql = new StringBuilder(SELECT);
+          if (afterAccountNumber != null) {
+               if (sort == CustomerSort.ACCOUNT_NUMBER) {
+                    jpql.append(" AND a.accountNumber ").append(after).append(" :afterAccountNumber");
+               } else {
+                    jpql.append(" AND (").append(sort.getPath()).append(' ').append(after).append(" :afterValue")
+                              .append(" OR (").append(sort.getPath()).append(" = :afterValue")
+                              .append(" AND a.accountNumber ").append(after).append(" :afterAccountNumber))");
+               }
+          }
+          jpql.append(" ORDER BY ");
+          if (sort != CustomerSort.ACCOUNT_NUMBER) {
+               jpql.append(sort.getPath()).append(' ').append(direction).append(", ");
+          }
+          jpql.append("a.accountNumber ").append(direction);
+
+          TypedQuery<CustomUserInfo> query = entityManager.createQuery(jpql.toString(), CustomUserInfo.class)
+                    .setParameter("role", Role.USER)
+                    .setMaxResults(limit);
+          if (afterAccountNumber != null) {
+               query.setParameter("afterAccountNumber", afterAccountNumber);
+               if (sort != CustomerSort.ACCOUNT_NUMBER) {
+                    query.setParameter("afterValue", afterValue);
+               }
+          }
+          return query.getResultList();
+     }
+}
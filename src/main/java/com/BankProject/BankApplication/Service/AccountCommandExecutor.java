@@ -0,0 +1,143 @@
+package com.BankProject.BankApplication.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.BankProject.BankApplication.Utils.OperationTimings;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Runs balance mutations one after another per account number.
+ * Every account has its own command queue (a chain of futures), so commands for
+ * the same account never overlap while different accounts run in parallel on
+ * virtual threads. A command that touches several accounts (transfer) is linked
+ * into the queues of all of them at once, so it starts only when it is at the head
+ * of every queue and two transfers can never wait on each other.
+ * Each command runs in its own database transaction, which is committed before
+ * the next command of the account starts.
+ */
+@Component
+@Slf4j
+public class AccountCommandExecutor {
+
+     // optimistic lock conflicts can only come from other nodes, retried a few times
+     private static final int MAX_ATTEMPTS = 3;
+
+     // tail of the command queue for every account that has pending commands
+     private final ConcurrentHashMap<Long, CompletableFuture<Void>> queues = new ConcurrentHashMap<>();
+
+     // makes linking a multi account command into several queues atomic
+     private final ReentrantLock multiAccountLock = new ReentrantLock();
+
+     private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+     @Autowired
+     private PlatformTransactionManager transactionManager;
+
+     private TransactionTemplate transactionTemplate;
+
+     @PostConstruct
+     void init() {
+          transactionTemplate = new TransactionTemplate(transactionManager);
+     }
+
+     @PreDestroy
+     void shutdown() {
+          executor.shutdown();
+     }
+
+     // runs the command after all earlier commands of the account
+     public <T> T execute(Long accountNumber, Supplier<T> command) {
+          return execute(List.of(accountNumber), command);
+     }
+
+     // runs the command after all earlier commands of every given account
+     public <T> T execute(Collection<Long> accountNumbers, Supplier<T> command) {
+          TreeSet<Long> accounts = new TreeSet<>(accountNumbers);
+          CompletableFuture<Void> done = new CompletableFuture<>();
+          CompletableFuture<Void> previous = enqueue(accounts, done);
+
+          // JDBC time of the command (and its commit) counts for the operation waiting for it
+          Supplier<T> timed = OperationTimings.propagate(() -> runInTransaction(command));
+          CompletableFuture<T> result = previous.thenApplyAsync(ignored -> timed.get(), executor);
+          result.whenComplete((value, error) -> {
+               done.complete(null);
+               // drop the queue entry if no newer command was linked behind this one
+               accounts.forEach(accountNumber -> queues.remove(accountNumber, done));
+          });
+          return await(result);
+     }
+
+     // links the command into the queue of every account and returns what it has to wait for
+     private CompletableFuture<Void> enqueue(TreeSet<Long> accounts, CompletableFuture<Void> done) {
+          if (accounts.size() == 1) {
+               return link(accounts.first(), done);
+          }
+          List<CompletableFuture<Void>> waitFor = new ArrayList<>(accounts.size());
+          multiAccountLock.lock();
+          try {
+               for (Long accountNumber : accounts) {
+                    waitFor.add(link(accountNumber, done));
+               }
+          } finally {
+               multiAccountLock.unlock();
+          }
+          return CompletableFuture.allOf(waitFor.toArray(CompletableFuture[]::new));
+     }
+
+     private CompletableFuture<Void> link(Long accountNumber, CompletableFuture<Void> done) {
+          List<CompletableFuture<Void>> previous = new ArrayList<>(1);
+          queues.compute(accountNumber, (key, tail) -> {
+               previous.add(tail == null ? CompletableFuture.completedFuture(null) : tail);
+               return done;
+          });
+          return previous.get(0);
+     }
+
+     private <T> T runInTransaction(Supplier<T> command) {
+          for (int attempt = 1;; attempt++) {
+               try {
+                    return transactionTemplate.execute(status -> command.get());
+               } catch (OptimisticLockingFailureException e) {
+                    if (attempt == MAX_ATTEMPTS) {
+                         throw e;
+                    }
+                    log.warn("Account was changed concurrently by another node, retrying command (attempt {})",
+                              attempt);
+               }
+          }
+     }
+
+     // waits for the command and rethrows the exception it failed with
+     private <T> T await(CompletableFuture<T> result) {
+          try {
+               return result.join();
+          } catch (CompletionException e) {
+               if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+               }
+               if (e.getCause() instanceof Error error) {
+                    throw error;
+               }
+               throw e;
+          }
+     }
+}
@@ -7,6 +7,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import com.BankProject.BankApplication.DTOs.CachedAccount;
 import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
 import com.BankProject.BankApplication.Entity.Account;
 import com.BankProject.BankApplication.Entity.User;
@@ -21,6 +22,10 @@ public class AccountService {
      @Autowired
      private CacheManager cacheManager;
 
+     // two level balance cache
+     @Autowired
+     private BalanceCache balanceCache;
+
 
 
      // creating a new account when new user is registered
@@ -35,7 +40,7 @@ public class AccountService {
           // saving account into database
           accountRepository.save(account);
           if (accountCache != null) {
-               accountCache.put(account.getAccountNumber(), Account.class);
+               accountCache.put(account.getAccountNumber(), CachedAccount.of(account));
           }
           return account;
      }
@@ -50,18 +55,19 @@ public class AccountService {
                if (accountCache != null) {
                     accountCache.evict(account.getAccountNumber());
                }
+               balanceCache.evict(account.getAccountNumber());
                return true;
           }
           return false;
      }
 
      // CHECK ACOUNT BALANCE
+     // served from the local / shared balance cache, the DB is only read on a miss
      public Double checkBalance(Long accountNumber) throws AccountNotFoundException {
-          // cache for the balance
-          Cache balanceCache = cacheManager.getCache("balances");
-          Double balance = accountRepository.findById(accountNumber).get().getBalance();
-          if (balanceCache != null) {
-               balanceCache.put(accountNumber, balance);// saving balance into cache
+          Double balance = balanceCache.get(accountNumber,
+                    () -> accountRepository.findCachedBalance(accountNumber).orElse(null));
+          if (balance == null) {
+               throw new AccountNotFoundException("Account with given account number is not found " + accountNumber);
           }
           return balance;
      }
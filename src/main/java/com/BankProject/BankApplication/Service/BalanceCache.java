@@ -0,0 +1,119 @@
+package com.BankProject.BankApplication.Service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Read through balance cache in two levels:
+ * L1 is a bounded in-process map, L2 the shared "balances" cache (redis in prod),
+ * the DB is only asked when both miss.
+ * Entries carry the account version, a level never replaces a newer balance with an
+ * older one: the read path only fills an empty L2 entry (SET NX in redis), update() writes
+ * the balances of committed changes only over an older version (SharedBalanceWriter).
+ * When another node changes a balance it publishes the new version and the L1 entry here
+ * is replaced by a marker holding only that version, so a slow read of the old balance
+ * can not be cached after the invalidation arrived.
+ */
+@Component
+@Slf4j
+public class BalanceCache {
+
+     @Value("${app.cache.balances.l1.max-size:100000}")
+     private long maxSize;
+
+     // safety net when an invalidation message is lost
+     @Value("${app.cache.balances.l1.ttl:PT5M}")
+     private Duration ttl;
+
+     @Autowired
+     private CacheManager cacheManager;
+
+     @Autowired
+     private SharedBalanceWriter sharedWriter;
+
+     @Autowired
+     private BalanceInvalidationBus invalidationBus;
+
+     private Cache<Long, CachedBalance> local;
+
+     @PostConstruct
+     void init() {
+          local = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .build();
+          invalidationBus.subscribe(this::invalidateLocal);
+     }
+
+     // cached balance of the account, the loader reads it from the DB on a miss
+     // null when the loader does not find the account
+     public Double get(Long accountNumber, Supplier<CachedBalance> loader) {
+          CachedBalance cached = local.getIfPresent(accountNumber);
+          if (cached != null && !isMarker(cached)) {
+               return cached.balance();
+          }
+          org.springframework.cache.Cache shared = cacheManager.getCache("balances");
+          CachedBalance loaded = shared != null ? shared.get(accountNumber, CachedBalance.class) : null;
+          if (loaded == null || (cached != null && loaded.version() < cached.version())) {
+               log.info("Balance of account {} not cached, loading it from DB", accountNumber);
+               loaded = loader.get();
+               if (loaded == null) {
+                    return null;
+               }
+               if (shared != null) {
+                    // update() may have stored a newer balance while the DB was read
+                    ValueWrapper existing = shared.putIfAbsent(accountNumber, loaded);
+                    if (existing != null && existing.get() instanceof CachedBalance newer
+                              && newer.version() > loaded.version()) {
+                         loaded = newer;
+                    }
+               }
+          }
+          putLocal(accountNumber, loaded);
+          return loaded.balance();
+     }
+
+     // called after a balance change was committed on this node
+     public void update(Long accountNumber, double balance, long version) {
+          CachedBalance changed = new CachedBalance(balance, version);
+          putLocal(accountNumber, changed);
+          sharedWriter.putIfNewer(accountNumber, changed);
+          invalidationBus.publish(accountNumber, version);
+     }
+
+     public void evict(Long accountNumber) {
+          local.invalidate(accountNumber);
+          org.springframework.cache.Cache shared = cacheManager.getCache("balances");
+          if (shared != null) {
+               shared.evict(accountNumber);
+          }
+     }
+
+     // keeps whichever entry has the newer version
+     private void putLocal(Long accountNumber, CachedBalance balance) {
+          local.asMap().merge(accountNumber, balance,
+                    (existing, candidate) -> candidate.version() >= existing.version() ? candidate : existing);
+     }
+
+     // another node changed the account, the local balance is stale up to that version
+     private void invalidateLocal(Long accountNumber, Long version) {
+          putLocal(accountNumber, new CachedBalance(Double.NaN, version));
+     }
+
+     private boolean isMarker(CachedBalance balance) {
+          return Double.isNaN(balance.balance());
+     }
+}
@@ -0,0 +1,13 @@
+package com.BankProject.BankApplication.Service;
+
+import java.util.function.BiConsumer;
+
+// Tells the other application nodes that the balance of an account changed
+public interface BalanceInvalidationBus {
+
+     // announces that the account is at the given version now
+     void publish(Long accountNumber, long version);
+
+     // the listener gets (accountNumber, version) for changes made on other nodes
+     void subscribe(BiConsumer<Long, Long> listener);
+}
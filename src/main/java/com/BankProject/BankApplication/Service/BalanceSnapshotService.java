@@ -0,0 +1,140 @@
+package com.BankProject.BankApplication.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.security.auth.login.AccountNotFoundException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.BankProject.BankApplication.Entity.BalanceSnapshot;
+import com.BankProject.BankApplication.Repository.AccountRepository;
+import com.BankProject.BankApplication.Repository.BalanceSnapshotRepository;
+import com.BankProject.BankApplication.Repository.TransactionRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Keeps a closing balance per account and day (BalanceSnapshot) so that the balance
+ * at any point in time is the nearest snapshot plus the transactions in between,
+ * instead of a sum over the whole history of the account.
+ * Shortly after midnight the job writes the snapshots of every day since the latest one.
+ * The closing balance of a day is the current balance minus the net change since the
+ * end of that day, so it only reads the transactions of the last days and also covers
+ * the opening balance accounts are created with (which has no transaction).
+ * Accounts are snapshotted in chunks, one transaction per chunk; a chunk another node
+ * already wrote is skipped.
+ */
+@Service
+@Slf4j
+public class BalanceSnapshotService {
+
+     private static final String SNAPSHOT_SQL = "INSERT INTO balance_snapshot (account_number, snapshot_date, closing_balance) "
+               + "SELECT a.account_number, ?, a.balance - COALESCE((SELECT SUM(CASE WHEN t.type IN ('CREDIT', 'DEPOSIT') "
+               + "THEN t.amount ELSE -t.amount END) FROM transactions t "
+               + "WHERE t.account_id = a.account_number AND t.time >= ?), 0) "
+               + "FROM account a WHERE a.account_number BETWEEN ? AND ? AND NOT EXISTS (SELECT 1 FROM balance_snapshot s "
+               + "WHERE s.account_number = a.account_number AND s.snapshot_date = ?)";
+
+     @Value("${app.snapshots.chunk-size:1000}")
+     private int chunkSize;
+
+     @Autowired
+     private BalanceSnapshotRepository balanceSnapshotRepository;
+
+     @Autowired
+     private TransactionRepository transactionRepository;
+
+     @Autowired
+     private AccountRepository accountRepository;
+
+     @Autowired
+     private JdbcTemplate jdbcTemplate;
+
+     @Autowired
+     private PlatformTransactionManager transactionManager;
+
+     private TransactionTemplate transactionTemplate;
+
+     @PostConstruct
+     void init() {
+          transactionTemplate = new TransactionTemplate(transactionManager);
+     }
+
+     // snapshots every day after the latest snapshot up to yesterday, only yesterday on the first run
+     @Scheduled(cron = "${app.snapshots.cron:0 5 0 * * *}")
+     public void snapshotMissingDays() {
+          LocalDate yesterday = LocalDate.now().minusDays(1);
+          LocalDate latest = balanceSnapshotRepository.findLatestSnapshotDate();
+          LocalDate day = latest == null ? yesterday : latest.plusDays(1);
+          for (; !day.isAfter(yesterday); day = day.plusDays(1)) {
+               snapshot(day);
+          }
+     }
+
+     // writes the closing balance of the day for every account that has none yet, returns how many were written
+     public long snapshot(LocalDate day) {
+          Timestamp endOfDay = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+          long written = 0;
+          Long after = Long.MIN_VALUE;
+          List<Long> chunk;
+          do {
+               chunk = jdbcTemplate.queryForList(
+                         "SELECT account_number FROM account WHERE account_number > ? ORDER BY account_number LIMIT ?",
+                         Long.class, after, chunkSize);
+               if (chunk.isEmpty()) {
+                    break;
+               }
+               Long first = chunk.get(0);
+               Long last = chunk.get(chunk.size() - 1);
+               try {
+                    written += transactionTemplate.execute(status -> jdbcTemplate.update(SNAPSHOT_SQL,
+                              Date.valueOf(day), endOfDay, first, last, Date.valueOf(day)));
+               } catch (DuplicateKeyException e) {
+                    log.info("Snapshots of {} for accounts {} to {} were written by another node", day, first, last);
+               }
+               after = last;
+          } while (chunk.size() == chunkSize);
+          log.info("Wrote {} balance snapshots for {}", written, day);
+          return written;
+     }
+
+     // balance of the account at the start of the day (the closing balance of the day before),
+     // from the nearest snapshot plus or minus the transactions in between
+     public double balanceAtStartOf(Long accountNumber, LocalDate day) throws AccountNotFoundException {
+          LocalDateTime start = day.atStartOfDay();
+          BalanceSnapshot before = balanceSnapshotRepository
+                    .findFirstByAccountNumberAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(accountNumber,
+                              day.minusDays(1))
+                    .orElse(null);
+          if (before != null) {
+               return before.getClosingBalance() + transactionRepository.sumSignedAmount(accountNumber,
+                         before.getSnapshotDate().plusDays(1).atStartOfDay(), start);
+          }
+          // the day is older than the first snapshot of the account, walking back from it
+          BalanceSnapshot after = balanceSnapshotRepository
+                    .findFirstByAccountNumberAndSnapshotDateGreaterThanEqualOrderBySnapshotDateAsc(accountNumber, day)
+                    .orElse(null);
+          if (after != null) {
+               return after.getClosingBalance() - transactionRepository.sumSignedAmount(accountNumber, start,
+                         after.getSnapshotDate().plusDays(1).atStartOfDay());
+          }
+          // no snapshot yet, walking back from the live balance
+          Double balance = accountRepository.findBalanceByAccountNumber(accountNumber);
+          if (balance == null) {
+               throw new AccountNotFoundException("Account with given account number is not found " + accountNumber);
+          }
+          return balance - transactionRepository.sumSignedAmountSince(accountNumber, start);
+     }
+}
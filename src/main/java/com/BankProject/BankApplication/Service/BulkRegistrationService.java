@@ -0,0 +1,312 @@
+package com.BankProject.BankApplication.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.BankProject.BankApplication.DTOs.BulkRegistrationResult;
+import com.BankProject.BankApplication.DTOs.BulkRegistrationResult.Status;
+import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Entity.VerificationToken;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Repository.UserRepository;
+import com.BankProject.BankApplication.Repository.VerificationTokenRepository;
+import com.BankProject.BankApplication.Utils.BoundedPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Registers customers from a streamed NDJSON or CSV upload.
+ * The upload is read chunk by chunk, so only one chunk is held in memory:
+ * passwords of a chunk are hashed in parallel on the password hashing pool, then users,
+ * accounts and verification tokens of the chunk are inserted in one transaction
+ * with JDBC batching (hibernate.jdbc.batch_size). One result line per row is
+ * written back as soon as its chunk is done.
+ * A chunk that fails to insert is reported as FAILED row by row, earlier chunks stay committed.
+ */
+@Service
+@Slf4j
+public class BulkRegistrationService {
+
+     public static final String CSV = "text/csv";
+
+     // expected CSV header, same fields as the NDJSON objects (UserAccountTemplate)
+     private static final String[] CSV_COLUMNS = { "fullName", "email", "password", "role", "balance",
+               "accountType" };
+
+     @Value("${app.bulk-registration.chunk-size:500}")
+     private int chunkSize;
+
+     @Autowired
+     private UserRepository userRepository;
+
+     @Autowired
+     private VerificationTokenRepository verificationTokenRepository;
+
+     // hashes on the shared password hashing pool without crowding out logins
+     @Autowired
+     private BoundedPasswordEncoder passwordEncoder;
+
+     @Autowired
+     private EmailService emailService;
+
+     @Autowired
+     private ObjectMapper objectMapper;
+
+     @Autowired
+     private PlatformTransactionManager transactionManager;
+
+     public void register(InputStream input, String contentType, boolean sendVerificationEmails, OutputStream output)
+               throws IOException {
+          boolean csv = contentType != null && contentType.startsWith(CSV);
+          BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+          Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+          List<Row> chunk = new ArrayList<>(chunkSize);
+          long rowNumber = 0;
+          long created = 0;
+          String line;
+          if (csv) {
+               // header line
+               reader.readLine();
+          }
+          while ((line = reader.readLine()) != null) {
+               if (line.isBlank()) {
+                    continue;
+               }
+               chunk.add(parse(++rowNumber, line, csv));
+               if (chunk.size() == chunkSize) {
+                    created += processChunk(chunk, sendVerificationEmails, writer);
+                    chunk.clear();
+               }
+          }
+          if (!chunk.isEmpty()) {
+               created += processChunk(chunk, sendVerificationEmails, writer);
+          }
+          writer.flush();
+          log.info("Bulk registration finished, {} of {} rows created", created, rowNumber);
+     }
+
+     private long processChunk(List<Row> chunk, boolean sendVerificationEmails, Writer writer) throws IOException {
+          List<Row> accepted = filterDuplicates(chunk);
+          hashPasswords(accepted);
+          try {
+               insert(accepted, sendVerificationEmails);
+          } catch (RuntimeException e) {
+               log.error("Bulk registration chunk of {} rows failed", accepted.size(), e);
+               accepted.forEach(row -> row.result(Status.FAILED, "Could not be saved: " + e.getMessage()));
+          }
+          long created = 0;
+          for (Row row : chunk) {
+               if (row.result.getStatus() == Status.CREATED) {
+                    created++;
+               }
+               writer.write(objectMapper.writeValueAsString(row.result));
+               writer.write('\n');
+          }
+          writer.flush();
+          return created;
+     }
+
+     // drops invalid rows, emails already registered and emails repeated within the chunk
+     private List<Row> filterDuplicates(List<Row> chunk) {
+          Set<String> emails = new HashSet<>();
+          for (Row row : chunk) {
+               if (row.isPending()) {
+                    emails.add(row.normalizedEmail);
+               }
+          }
+          Set<String> existing = emails.isEmpty() ? Set.of() : userRepository.findExistingEmails(emails);
+          Set<String> seen = new HashSet<>();
+          List<Row> accepted = new ArrayList<>(chunk.size());
+          for (Row row : chunk) {
+               if (!row.isPending()) {
+                    continue;
+               }
+               if (existing.contains(row.normalizedEmail) || !seen.add(row.normalizedEmail)) {
+                    row.result(Status.DUPLICATE, "User with email " + row.template.getEmail() + " already exists");
+               } else {
+                    accepted.add(row);
+               }
+          }
+          return accepted;
+     }
+
+     private void hashPasswords(List<Row> rows) {
+          List<CompletableFuture<Void>> hashes = new ArrayList<>(rows.size());
+          for (Row row : rows) {
+               hashes.add(passwordEncoder.encodeInBatch(row.template.getPassword())
+                         .thenAccept(encoded -> row.encodedPassword = encoded));
+          }
+          CompletableFuture.allOf(hashes.toArray(CompletableFuture[]::new)).join();
+     }
+
+     private void insert(List<Row> rows, boolean sendVerificationEmails) {
+          if (rows.isEmpty()) {
+               return;
+          }
+          new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+               List<User> users = new ArrayList<>(rows.size());
+               List<VerificationToken> tokens = new ArrayList<>(rows.size());
+               for (Row row : rows) {
+                    row.user = newUser(row);
+                    users.add(row.user);
+                    row.token = UUID.randomUUID().toString();
+                    VerificationToken verificationToken = new VerificationToken();
+                    verificationToken.setToken(row.token);
+                    verificationToken.setUser(row.user);
+                    verificationToken.setExpiryDate(LocalDateTime.now().plusHours(2));
+                    tokens.add(verificationToken);
+               }
+               // accounts are inserted through the cascade from users
+               userRepository.saveAll(users);
+               verificationTokenRepository.saveAll(tokens);
+               // queued in the outbox within the same transaction
+               if (sendVerificationEmails) {
+                    rows.forEach(row -> emailService.queueVerificationEmail(row.user.getEmail(), row.token));
+               }
+          });
+          for (Row row : rows) {
+               row.result.setUserId(row.user.getUserId());
+               row.result.setAccountNumber(row.user.getAccount().getAccountNumber());
+               row.result(Status.CREATED, null);
+          }
+     }
+
+     private User newUser(Row row) {
+          UserAccountTemplate template = row.template;
+          User user = new User();
+          user.setFullName(template.getFullName());
+          user.setEmail(template.getEmail());
+          user.setPassword(row.encodedPassword);
+          user.setRole(Role.USER);
+          user.setIsEnabled(false);
+          Account account = new Account();
+          account.setBalance(template.getBalance());
+          account.setAccountType(template.getAccountType() != null ? template.getAccountType() : AccountType.SAVINGS);
+          account.setUser(user);
+          user.setAccount(account);
+          return user;
+     }
+
+     private Row parse(long rowNumber, String line, boolean csv) {
+          Row row = new Row(rowNumber);
+          try {
+               row.template = csv ? parseCsv(line) : objectMapper.readValue(line, UserAccountTemplate.class);
+          } catch (Exception e) {
+               return row.result(Status.INVALID, "Could not be parsed: " + e.getMessage());
+          }
+          UserAccountTemplate template = row.template;
+          row.result.setEmail(template.getEmail());
+          if (template.getEmail() == null || !template.getEmail().contains("@")) {
+               return row.result(Status.INVALID, "Please Enter a Valid Email");
+          }
+          if (template.getFullName() == null || template.getFullName().isBlank()) {
+               return row.result(Status.INVALID, "Please Enter Your Full name");
+          }
+          if (template.getPassword() == null || template.getPassword().length() < 6) {
+               return row.result(Status.INVALID, "Password must be at least 6 characters");
+          }
+          if (template.getRole() != null && template.getRole() != Role.USER) {
+               return row.result(Status.INVALID, "Bulk registration only creates customer accounts");
+          }
+          if (template.getBalance() < 0) {
+               return row.result(Status.INVALID, "Balance should not be negative");
+          }
+          row.normalizedEmail = template.getEmail().toLowerCase(Locale.ROOT);
+          return row;
+     }
+
+     private UserAccountTemplate parseCsv(String line) {
+          List<String> values = splitCsv(line);
+          if (values.size() != CSV_COLUMNS.length) {
+               throw new IllegalArgumentException("expected " + CSV_COLUMNS.length + " columns: "
+                         + String.join(",", CSV_COLUMNS));
+          }
+          UserAccountTemplate template = new UserAccountTemplate();
+          template.setFullName(values.get(0));
+          template.setEmail(values.get(1));
+          template.setPassword(values.get(2));
+          template.setRole(values.get(3).isEmpty() ? null : Role.valueOf(values.get(3).toUpperCase(Locale.ROOT)));
+          template.setBalance(values.get(4).isEmpty() ? 0 : Double.parseDouble(values.get(4)));
+          template.setAccountType(values.get(5).isEmpty() ? null
+                    : AccountType.valueOf(values.get(5).toUpperCase(Locale.ROOT)));
+          return template;
+     }
+
+     // splits one CSV line, double quoted values may contain commas and "" for a quote
+     private List<String> splitCsv(String line) {
+          List<String> values = new ArrayList<>(CSV_COLUMNS.length);
+          StringBuilder value = new StringBuilder();
+          boolean quoted = false;
+          for (int i = 0; i < line.length(); i++) {
+               char c = line.charAt(i);
+               if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                         value.append('"');
+                         i++;
+                    } else if (c == '"') {
+                         quoted = false;
+                    } else {
+                         value.append(c);
+                    }
+               } else if (c == '"') {
+                    quoted = true;
+               } else if (c == ',') {
+                    values.add(value.toString().trim());
+                    value.setLength(0);
+               } else {
+                    value.append(c);
+               }
+          }
+          values.add(value.toString().trim());
+          return values;
+     }
+
+     // state of one uploaded row while its chunk is processed
+     private static final class Row {
+          private final BulkRegistrationResult result = new BulkRegistrationResult();
+          private UserAccountTemplate template;
+          private String normalizedEmail;
+          private String encodedPassword;
+          private User user;
+          private String token;
+
+          Row(long rowNumber) {
+               result.setRow(rowNumber);
+          }
+
+          boolean isPending() {
+               return result.getStatus() == null;
+          }
+
+          Row result(Status status, String message) {
+               result.setStatus(status);
+               result.setMessage(message);
+               return this;
+          }
+     }
+}
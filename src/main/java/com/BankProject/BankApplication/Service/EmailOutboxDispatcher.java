@@ -0,0 +1,172 @@
+package com.BankProject.BankApplication.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.BankProject.BankApplication.Entity.EmailOutbox;
+import com.BankProject.BankApplication.Enum.EmailStatus;
+import com.BankProject.BankApplication.Repository.EmailOutboxRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Drains the email outbox in batches.
+ * A batch is locked with SELECT ... FOR UPDATE SKIP LOCKED, so several nodes can drain the
+ * outbox at once without sending an email twice, and all emails of a batch go out over one
+ * SMTP connection (JavaMailSender.send(MimeMessage...)).
+ * A failed email is retried with exponential backoff and marked FAILED after the last attempt.
+ * Sending runs on the platform emailExecutor thread (see AsyncConfig).
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+     @Value("${app.mail.outbox.batch-size:50}")
+     private int batchSize;
+
+     @Value("${app.mail.outbox.max-attempts:8}")
+     private int maxAttempts;
+
+     @Value("${app.mail.outbox.initial-backoff:PT30S}")
+     private Duration initialBackoff;
+
+     @Value("${app.mail.outbox.max-backoff:PT1H}")
+     private Duration maxBackoff;
+
+     @Autowired
+     private EmailOutboxRepository emailOutboxRepository;
+
+     @Autowired
+     private JavaMailSender javaMailSender;
+
+     @Autowired
+     private ThreadPoolTaskExecutor emailExecutor;
+
+     @Autowired
+     private PlatformTransactionManager transactionManager;
+
+     private TransactionTemplate transactionTemplate;
+
+     // one drain at a time per node
+     private final AtomicBoolean draining = new AtomicBoolean();
+
+     @PostConstruct
+     void init() {
+          transactionTemplate = new TransactionTemplate(transactionManager);
+     }
+
+     @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}")
+     void poll() {
+          if (draining.compareAndSet(false, true)) {
+               emailExecutor.execute(() -> {
+                    try {
+                         drain();
+                    } finally {
+                         draining.set(false);
+                    }
+               });
+          }
+     }
+
+     // sends batches until no due email is left, returns the number of emails sent
+     public int drain() {
+          int sent = 0;
+          int processed;
+          do {
+               int[] result = transactionTemplate.execute(status -> sendBatch());
+               processed = result[0];
+               sent += result[1];
+          } while (processed == batchSize);
+          return sent;
+     }
+
+     // returns {emails processed, emails sent}
+     private int[] sendBatch() {
+          LocalDateTime now = LocalDateTime.now();
+          List<EmailOutbox> emails = emailOutboxRepository.lockDueEmails(now, batchSize);
+          if (emails.isEmpty()) {
+               return new int[] { 0, 0 };
+          }
+          List<EmailOutbox> deliverable = new ArrayList<>(emails.size());
+          List<MimeMessage> messages = new ArrayList<>(emails.size());
+          for (EmailOutbox email : emails) {
+               try {
+                    messages.add(toMessage(email));
+                    deliverable.add(email);
+               } catch (MessagingException e) {
+                    markFailed(email, e, now);
+               }
+          }
+          Map<Object, Exception> failures = Map.of();
+          try {
+               javaMailSender.send(messages.toArray(MimeMessage[]::new));
+          } catch (MailSendException e) {
+               // some of the messages (or the connection) failed
+               failures = e.getFailedMessages();
+               if (failures.isEmpty()) {
+                    deliverable.forEach(email -> markFailed(email, e, now));
+                    return new int[] { emails.size(), 0 };
+               }
+          } catch (MailException e) {
+               log.warn("Could not send {} outbox emails", deliverable.size(), e);
+               deliverable.forEach(email -> markFailed(email, e, now));
+               return new int[] { emails.size(), 0 };
+          }
+          int sent = 0;
+          for (int i = 0; i < deliverable.size(); i++) {
+               Exception failure = failures.get(messages.get(i));
+               if (failure == null) {
+                    deliverable.get(i).setStatus(EmailStatus.SENT);
+                    deliverable.get(i).setSentAt(now);
+                    sent++;
+               } else {
+                    markFailed(deliverable.get(i), failure, now);
+               }
+          }
+          log.info("Sent {} of {} outbox emails", sent, emails.size());
+          return new int[] { emails.size(), sent };
+     }
+
+     private MimeMessage toMessage(EmailOutbox email) throws MessagingException {
+          MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+          MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+          helper.setTo(email.getRecipient());
+          helper.setSubject(email.getSubject());
+          helper.setText(email.getBody(), true); // true = HTML
+          return mimeMessage;
+     }
+
+     // schedules the next attempt with exponential backoff or gives up
+     private void markFailed(EmailOutbox email, Exception error, LocalDateTime now) {
+          email.setAttempts(email.getAttempts() + 1);
+          String message = String.valueOf(error.getMessage());
+          email.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+          if (email.getAttempts() >= maxAttempts) {
+               email.setStatus(EmailStatus.FAILED);
+               log.error("Giving up on email {} to {} after {} attempts", email.getId(), email.getRecipient(),
+                         email.getAttempts());
+               return;
+          }
+          Duration backoff = initialBackoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 20));
+          email.setNextAttemptAt(now.plus(backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff));
+     }
+}
@@ -1,25 +1,29 @@
 package com.BankProject.BankApplication.Service;
 
+import java.time.LocalDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.BankProject.BankApplication.Entity.EmailOutbox;
+import com.BankProject.BankApplication.Enum.EmailStatus;
+import com.BankProject.BankApplication.Repository.EmailOutboxRepository;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 public class EmailService {
      @Autowired
-     private JavaMailSender javaMailSender;
+     private EmailOutboxRepository emailOutboxRepository;
      // @Value("${BACKEND_URL}")
      private String BACKEND_URL = System.getenv("BACKEND_URL");
 
-     @Async
-     public void sendVerificationEmail(String to, String token) {
+     // Queues the verification email in the outbox, joins the transaction of the caller:
+     // the email is only sent if the registration is committed (see EmailOutboxDispatcher)
+     @Transactional
+     public void queueVerificationEmail(String to, String token) {
           log.info("Token is: {}", token);
 
           String subject = "Verify your account";
@@ -36,19 +40,15 @@ public class EmailService {
                     + "</body>"
                     + "</html>";
 
-          try {
-               MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-               MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
-
-               helper.setTo(to);
-               helper.setSubject(subject);
-               helper.setText(htmlContent, true); // true = HTML
-
-               javaMailSender.send(mimeMessage);
-
-               log.info("Verification HTML email sent to: {}", to);
-          } catch (MessagingException e) {
-               log.error("Failed to send HTML email to: {}", to, e);
-          }
+          LocalDateTime now = LocalDateTime.now();
+          EmailOutbox email = new EmailOutbox();
+          email.setRecipient(to);
+          email.setSubject(subject);
+          email.setBody(htmlContent);
+          email.setStatus(EmailStatus.PENDING);
+          email.setCreatedAt(now);
+          email.setNextAttemptAt(now);
+          emailOutboxRepository.save(email);
+          log.info("Verification email to {} queued", to);
      }
 }
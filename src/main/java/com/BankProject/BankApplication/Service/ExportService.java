@@ -0,0 +1,235 @@
+package com.BankProject.BankApplication.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Streams users and transactions to admins as NDJSON or CSV.
+ * Rows are read through a forward only, read only JDBC cursor that fetches
+ * app.export.fetch-size rows per round trip (MySQL needs useCursorFetch=true for that)
+ * and every row is written to the response as soon as it is read, without
+ * entities or lists in between, so memory use does not grow with the export.
+ * The whole export runs in one read only transaction and sees one snapshot.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+     public enum Format {
+          NDJSON, CSV
+     }
+
+     private static final String USERS_SQL = "SELECT u.user_id, u.full_name, u.email, u.role, u.is_enabled, "
+               + "a.account_number, a.balance, a.account_type "
+               + "FROM users u LEFT JOIN account a ON a.account_number = u.account_id ORDER BY u.user_id";
+
+     private static final String[] USER_COLUMNS = { "userId", "fullName", "email", "role", "isEnabled",
+               "accountNumber", "balance", "accountType" };
+
+     // exported in time order, ties broken by id: older rows have random ids, so the id order is not the time order
+     private static final String TRANSACTIONS_SQL = "SELECT t.transaction_id, t.account_id, t.type, t.amount, t.time "
+               + "FROM transactions t";
+
+     private static final String[] TRANSACTION_COLUMNS = { "transactionId", "accountNumber", "type", "amount",
+               "time" };
+
+     @Value("${app.export.fetch-size:1000}")
+     private int fetchSize;
+
+     @Autowired
+     private DataSource dataSource;
+
+     @Autowired
+     private ObjectMapper objectMapper;
+
+     @Autowired
+     private PlatformTransactionManager transactionManager;
+
+     private JdbcTemplate jdbcTemplate;
+
+     private TransactionTemplate transactionTemplate;
+
+     @PostConstruct
+     void init() {
+          jdbcTemplate = new JdbcTemplate(dataSource);
+          jdbcTemplate.setFetchSize(fetchSize);
+          transactionTemplate = new TransactionTemplate(transactionManager);
+          transactionTemplate.setReadOnly(true);
+     }
+
+     public long exportUsers(Format format, OutputStream output) throws IOException {
+          return export(USERS_SQL, List.of(), USER_COLUMNS, format, output);
+     }
+
+     // every filter is optional, the time range is [from, to)
+     public long exportTransactions(Long accountNumber, LocalDateTime from, LocalDateTime to, Format format,
+               OutputStream output) throws IOException {
+          StringBuilder sql = new StringBuilder(TRANSACTIONS_SQL);
+          List<Object> args = new ArrayList<>(3);
+          List<String> conditions = new ArrayList<>(3);
+          if (accountNumber != null) {
+               conditions.add("t.account_id = ?");
+               args.add(accountNumber);
+          }
+          if (from != null) {
+               conditions.add("t.time >= ?");
+               args.add(Timestamp.valueOf(from));
+          }
+          if (to != null) {
+               conditions.add("t.time < ?");
+               args.add(Timestamp.valueOf(to));
+          }
+          if (!conditions.isEmpty()) {
+               sql.append(" WHERE ").append(String.join(" AND ", conditions));
+          }
+          // read in index order, no sort before the first row: (account_id, time, transaction_id) when
+          // filtered by account, (time, transaction_id) otherwise
+          sql.append(" ORDER BY t.time, t.transaction_id");
+          return export(sql.toString(), args, TRANSACTION_COLUMNS, format, output);
+     }
+
+     private long export(String sql, List<Object> args, String[] columns, Format format, OutputStream output)
+               throws IOException {
+          RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(output, columns)
+                    : new NdjsonRowWriter(output, columns);
+          long[] rows = new long[1];
+          try {
+               transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                    try {
+                         rowWriter.write(rs);
+                    } catch (IOException e) {
+                         // client went away, stops reading the cursor
+                         throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+               }, args.toArray()));
+          } catch (UncheckedIOException e) {
+               throw e.getCause();
+          }
+          rowWriter.close();
+          log.info("Exported {} rows as {}", rows[0], format);
+          return rows[0];
+     }
+
+     private interface RowWriter {
+          void write(ResultSet rs) throws SQLException, IOException;
+
+          void close() throws IOException;
+     }
+
+     // one JSON object per line, columns keep their SQL types
+     private class NdjsonRowWriter implements RowWriter {
+          private final JsonGenerator generator;
+          private final String[] columns;
+
+          NdjsonRowWriter(OutputStream output, String[] columns) throws IOException {
+               this.generator = objectMapper.getFactory().createGenerator(output);
+               this.columns = columns;
+          }
+
+          @Override
+          public void write(ResultSet rs) throws SQLException, IOException {
+               generator.writeStartObject();
+               for (int i = 0; i < columns.length; i++) {
+                    generator.writeFieldName(columns[i]);
+                    Object value = rs.getObject(i + 1);
+                    if (value == null) {
+                         generator.writeNull();
+                    } else if (value instanceof Boolean bool) {
+                         generator.writeBoolean(bool);
+                    } else if (value instanceof Long || value instanceof Integer) {
+                         generator.writeNumber(((Number) value).longValue());
+                    } else if (value instanceof Number number) {
+                         generator.writeNumber(number.doubleValue());
+                    } else {
+                         generator.writeString(text(value));
+                    }
+               }
+               generator.writeEndObject();
+               generator.writeRaw('\n');
+          }
+
+          @Override
+          public void close() throws IOException {
+               generator.flush();
+          }
+     }
+
+     // header line with the column names, then one line per row
+     private static class CsvRowWriter implements RowWriter {
+          private final Writer writer;
+          private final String[] columns;
+
+          CsvRowWriter(OutputStream output, String[] columns) throws IOException {
+               this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+               this.columns = columns;
+               writer.write(String.join(",", columns));
+               writer.write('\n');
+          }
+
+          @Override
+          public void write(ResultSet rs) throws SQLException, IOException {
+               for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                         writer.write(',');
+                    }
+                    Object value = rs.getObject(i + 1);
+                    if (value != null) {
+                         writeField(text(value));
+                    }
+               }
+               writer.write('\n');
+          }
+
+          // quotes fields with separators, quotes or line breaks, quotes inside are doubled
+          private void writeField(String field) throws IOException {
+               if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0
+                         && field.indexOf('\r') < 0) {
+                    writer.write(field);
+                    return;
+               }
+               writer.write('"');
+               writer.write(field.replace("\"", "\"\""));
+               writer.write('"');
+          }
+
+          @Override
+          public void close() throws IOException {
+               writer.flush();
+          }
+     }
+
+     private static String text(Object value) {
+          if (value instanceof Timestamp timestamp) {
+               return timestamp.toLocalDateTime().toString();
+          }
+          return value.toString();
+     }
+}
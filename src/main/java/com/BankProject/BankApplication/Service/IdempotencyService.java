@@ -0,0 +1,238 @@
+package com.BankProject.BankApplication.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.Exceptions.IdempotencyConflictException;
+import com.BankProject.BankApplication.Exceptions.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Runs a money moving request at most once per Idempotency-Key header, a retry gets the response
+ * of the first run without touching the database.
+ * Keys are scoped to the operation and the logged in user, and bound to a fingerprint of the
+ * request body: the same key with another body is rejected with 422.
+ * Every node keeps a future per recent key: concurrent duplicates on the node wait for the first
+ * request, later retries are answered from it. Across nodes the key is claimed in the
+ * IdempotencyStore (redis), the claim is renewed while the request runs (it may wait in the
+ * account command queue), and a node that finds the key claimed polls until the response is
+ * stored. A failed request books nothing, so its key is dropped and a retry runs it again.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+     private static final int MAX_KEY_LENGTH = 255;
+
+     private static final String IN_PROGRESS = "A request with this Idempotency-Key is still in progress";
+
+     @Value("${app.idempotency.ttl:PT24H}")
+     private Duration ttl;
+
+     // claims are renewed three times per pending TTL
+     @Value("${app.idempotency.pending-ttl:PT1M}")
+     private Duration pendingTtl;
+
+     @Value("${app.idempotency.local.max-size:10000}")
+     private long maxSize;
+
+     // how long a duplicate waits for the first request before it gets a 409
+     @Value("${app.idempotency.wait-timeout:PT10S}")
+     private Duration waitTimeout;
+
+     @Value("${app.idempotency.poll-interval:PT0.05S}")
+     private Duration pollInterval;
+
+     @Autowired
+     private IdempotencyStore idempotencyStore;
+
+     @Autowired
+     private ObjectMapper objectMapper;
+
+     private Cache<String, LocalRequest> requests;
+
+     private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(
+               Thread.ofPlatform().name("idempotency-renewal").daemon().factory());
+
+     @PostConstruct
+     void init() {
+          requests = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .build();
+     }
+
+     @PreDestroy
+     void shutdown() {
+          renewals.shutdown();
+     }
+
+     // money moving request with up to three checked exceptions of the endpoint,
+     // the ones it does not throw are inferred as RuntimeException
+     @FunctionalInterface
+     public interface Request<A extends Exception, B extends Exception, C extends Exception> {
+          TransactionResponseDTO run() throws A, B, C;
+     }
+
+     // request of a key running or completed on this node
+     private record LocalRequest(String fingerprint, CompletableFuture<TransactionResponseDTO> response) {
+     }
+
+     // runs the request, or returns the response of the request that already ran with the key,
+     // body is what the client sent and has to match the body of the first request
+     public <A extends Exception, B extends Exception, C extends Exception> TransactionResponseDTO execute(
+               String idempotencyKey, String operation, Object body, Request<A, B, C> request) throws A, B, C {
+          if (idempotencyKey == null) {
+               return request.run();
+          }
+          if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+               throw new IllegalArgumentException("Idempotency-Key should have 1 to " + MAX_KEY_LENGTH + " characters");
+          }
+          String key = operation + ":" + currentUser() + ":" + idempotencyKey;
+          String fingerprint = fingerprint(body);
+          LocalRequest own = new LocalRequest(fingerprint, new CompletableFuture<>());
+          LocalRequest first = requests.asMap().putIfAbsent(key, own);
+          if (first != null) {
+               checkFingerprint(first.fingerprint(), fingerprint);
+               return await(first.response());
+          }
+          try {
+               TransactionResponseDTO response = runOnce(key, fingerprint, request);
+               own.response().complete(response);
+               return response;
+          } catch (Throwable e) {
+               // waiting duplicates fail the same way, a later retry runs again
+               requests.asMap().remove(key, own);
+               own.response().completeExceptionally(e);
+               throw e;
+          }
+     }
+
+     private <A extends Exception, B extends Exception, C extends Exception> TransactionResponseDTO runOnce(
+               String key, String fingerprint, Request<A, B, C> request) throws A, B, C {
+          long deadline = System.nanoTime() + waitTimeout.toNanos();
+          while (true) {
+               IdempotencyStore.Entry stored = idempotencyStore.find(key);
+               if (stored != null) {
+                    checkFingerprint(stored.fingerprint(), fingerprint);
+                    if (stored.response() != null) {
+                         return stored.response();
+                    }
+               } else {
+                    String token = idempotencyStore.claim(key, fingerprint);
+                    if (token != null) {
+                         return runClaimed(key, token, fingerprint, request);
+                    }
+               }
+               // another node runs the request, or it failed and the key is free again on the next round
+               if (System.nanoTime() > deadline) {
+                    throw new IdempotencyConflictException(IN_PROGRESS);
+               }
+               try {
+                    Thread.sleep(pollInterval);
+               } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IdempotencyConflictException(IN_PROGRESS);
+               }
+          }
+     }
+
+     private <A extends Exception, B extends Exception, C extends Exception> TransactionResponseDTO runClaimed(
+               String key, String token, String fingerprint, Request<A, B, C> request) throws A, B, C {
+          long renewEvery = pendingTtl.toMillis() / 3;
+          ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(() -> renew(key, token), renewEvery, renewEvery,
+                    TimeUnit.MILLISECONDS);
+          TransactionResponseDTO response;
+          try {
+               response = request.run();
+          } catch (Throwable e) {
+               renewal.cancel(false);
+               idempotencyStore.release(key, token);
+               throw e;
+          }
+          renewal.cancel(false);
+          try {
+               idempotencyStore.complete(key, token, fingerprint, response);
+          } catch (RuntimeException e) {
+               // the money has moved, the response still goes out and this node remembers it
+               log.warn("Could not store the response of idempotency key {}", key, e);
+          }
+          return response;
+     }
+
+     private void renew(String key, String token) {
+          try {
+               if (!idempotencyStore.renew(key, token)) {
+                    log.warn("Claim of idempotency key {} was lost while its request was running", key);
+               }
+          } catch (RuntimeException e) {
+               log.warn("Could not renew the claim of idempotency key {}", key, e);
+          }
+     }
+
+     // the first request ran the same endpoint, so a checked exception it failed with is one of A, B or C too
+     @SuppressWarnings("unchecked")
+     private <A extends Exception, B extends Exception, C extends Exception> TransactionResponseDTO await(
+               CompletableFuture<TransactionResponseDTO> first) throws A, B, C {
+          try {
+               return first.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+          } catch (ExecutionException e) {
+               if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+               }
+               if (e.getCause() instanceof Error error) {
+                    throw error;
+               }
+               throw (A) e.getCause();
+          } catch (TimeoutException e) {
+               throw new IdempotencyConflictException(IN_PROGRESS);
+          } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               throw new IdempotencyConflictException(IN_PROGRESS);
+          }
+     }
+
+     private static void checkFingerprint(String expected, String actual) {
+          if (!expected.equals(actual)) {
+               throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+          }
+     }
+
+     // SHA-256 of the JSON of the request body
+     private String fingerprint(Object body) {
+          try {
+               byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(body));
+               return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+          } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+               throw new IllegalStateException("Could not fingerprint the request", e);
+          }
+     }
+
+     private static String currentUser() {
+          Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+          return authentication != null ? authentication.getName() : "anonymous";
+     }
+}
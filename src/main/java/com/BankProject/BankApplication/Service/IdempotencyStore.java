@@ -0,0 +1,33 @@
+package com.BankProject.BankApplication.Service;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+
+/*
+ * Idempotency keys shared by all nodes. A key is claimed by the node that runs the request,
+ * then holds its response until the TTL ends. Every key remembers the fingerprint of the
+ * request it was used for. A claim is identified by a token, only its owner can renew,
+ * complete or release it. The node local part (in flight requests and recent responses)
+ * is kept by IdempotencyService in front of it.
+ */
+public interface IdempotencyStore {
+
+     // entry of the key, null when the key is unknown
+     Entry find(String key);
+
+     // claims the key for the request with the fingerprint, returns the claim token
+     // or null when the key is already claimed
+     String claim(String key, String fingerprint);
+
+     // keeps the claim alive while the request runs, false when the claim was lost
+     boolean renew(String key, String token);
+
+     // stores the response of a claimed key
+     void complete(String key, String token, String fingerprint, TransactionResponseDTO response);
+
+     // frees a claimed key after the request failed, so a retry can run it again
+     void release(String key, String token);
+
+     // response is null while the request still runs
+     record Entry(String fingerprint, TransactionResponseDTO response) {
+     }
+}
@@ -0,0 +1,107 @@
+package com.BankProject.BankApplication.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+// Ring buffer per account, used when redis is not the cache type (tests, benchmarks, local runs)
+@Component
+@ConditionalOnExpression("'${spring.cache.type:redis}' != 'redis'")
+public class InMemoryRecentTransactionsCache implements RecentTransactionsCache {
+
+     @Value("${app.cache.recent-transactions.capacity:100}")
+     private int capacity;
+
+     // accounts with a buffer, the least used ones are dropped and rebuilt from the DB when read again
+     @Value("${app.cache.recent-transactions.local.max-size:10000}")
+     private long maxSize;
+
+     private Cache<Long, RingBuffer> buffers;
+
+     @PostConstruct
+     void init() {
+          buffers = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .build();
+     }
+
+     @Override
+     public int capacity() {
+          return capacity;
+     }
+
+     @Override
+     public RecentPage page(Long accountNumber, int offset, int size) {
+          RingBuffer buffer = buffers.getIfPresent(accountNumber);
+          return buffer == null ? null : buffer.page(offset, size);
+     }
+
+     @Override
+     public void append(Long accountNumber, TransactionResponseDTO transaction) {
+          RingBuffer buffer = buffers.getIfPresent(accountNumber);
+          if (buffer != null) {
+               buffer.addFirst(transaction);
+          }
+     }
+
+     @Override
+     public void replace(Long accountNumber, List<TransactionResponseDTO> transactions) {
+          RingBuffer buffer = new RingBuffer(capacity);
+          // oldest first so the newest ends up at the head
+          for (int i = Math.min(transactions.size(), capacity) - 1; i >= 0; i--) {
+               buffer.addFirst(transactions.get(i));
+          }
+          buffers.put(accountNumber, buffer);
+     }
+
+     @Override
+     public void evict(Long accountNumber) {
+          buffers.invalidate(accountNumber);
+     }
+
+     private static final class RingBuffer {
+          private final TransactionResponseDTO[] items;
+          private final ReentrantLock lock = new ReentrantLock();
+          // index of the newest transaction
+          private int head = -1;
+          private int count;
+
+          RingBuffer(int capacity) {
+               items = new TransactionResponseDTO[capacity];
+          }
+
+          void addFirst(TransactionResponseDTO transaction) {
+               lock.lock();
+               try {
+                    head = (head + 1) % items.length;
+                    items[head] = transaction;
+                    count = Math.min(count + 1, items.length);
+               } finally {
+                    lock.unlock();
+               }
+          }
+
+          RecentPage page(int offset, int size) {
+               lock.lock();
+               try {
+                    List<TransactionResponseDTO> content = new ArrayList<>(Math.max(0, Math.min(size, count - offset)));
+                    for (int i = offset; i < count && i < offset + size; i++) {
+                         content.add(items[(head - i + items.length) % items.length]);
+                    }
+                    return new RecentPage(content, count);
+               } finally {
+                    lock.unlock();
+               }
+          }
+     }
+}
@@ -0,0 +1,33 @@
+package com.BankProject.BankApplication.Service;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Revoked tokens of a single node, used when redis is not the cache type (tests, benchmarks, local runs)
+@Component
+@ConditionalOnExpression("'${spring.cache.type:redis}' != 'redis'")
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+     private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+
+     @Override
+     public void revoke(String tokenId, Instant expiresAt) {
+          revoked.put(tokenId, expiresAt);
+     }
+
+     @Override
+     public boolean isRevoked(String tokenId) {
+          return revoked.containsKey(tokenId);
+     }
+
+     // expired tokens are rejected anyway
+     @Scheduled(fixedDelayString = "${app.jwt.revocation.rebuild-interval:PT10M}")
+     void removeExpired() {
+          Instant now = Instant.now();
+          revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+     }
+}
@@ -0,0 +1,38 @@
+package com.BankProject.BankApplication.Service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+
+// Single node, used when redis is not the cache type (tests, benchmarks, local runs):
+// the local layer of IdempotencyService already sees every request, nothing is shared
+@Component
+@ConditionalOnExpression("'${spring.cache.type:redis}' != 'redis'")
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+     private static final String TOKEN = "local";
+
+     @Override
+     public Entry find(String key) {
+          return null;
+     }
+
+     @Override
+     public String claim(String key, String fingerprint) {
+          return TOKEN;
+     }
+
+     @Override
+     public boolean renew(String key, String token) {
+          return true;
+     }
+
+     @Override
+     public void complete(String key, String token, String fingerprint, TransactionResponseDTO response) {
+     }
+
+     @Override
+     public void release(String key, String token) {
+     }
+}
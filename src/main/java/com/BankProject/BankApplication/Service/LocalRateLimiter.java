@@ -0,0 +1,57 @@
+package com.BankProject.BankApplication.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+// Buckets of a single node, one AtomicLong each that is moved with compare-and-set, no locks.
+// Used unless shared quotas are enabled on redis (app.rate-limit.shared)
+@Component
+@ConditionalOnExpression("!('${spring.cache.type:redis}' == 'redis' and ${app.rate-limit.shared:false})")
+public class LocalRateLimiter implements RateLimiter {
+
+     @Value("${app.rate-limit.local.max-size:100000}")
+     private long maxSize;
+
+     // an idle bucket is full again long before this, dropping it changes nothing
+     @Value("${app.rate-limit.local.idle-timeout:PT10M}")
+     private Duration idleTimeout;
+
+     private Cache<String, AtomicLong> buckets;
+
+     @PostConstruct
+     void init() {
+          buckets = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterAccess(idleTimeout)
+                    .build();
+     }
+
+     @Override
+     public long tryAcquire(String key, Limit limit) {
+          // time at which the bucket is full again, a new bucket is full already
+          AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(Long.MIN_VALUE));
+          long interval = limit.intervalNanos();
+          long tolerance = limit.toleranceNanos();
+          while (true) {
+               long now = System.nanoTime();
+               long current = fullAt.get();
+               long next = Math.max(current, now) + interval;
+               long wait = next - now - tolerance;
+               if (wait > 0) {
+                    return wait;
+               }
+               if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+               }
+          }
+     }
+}
@@ -0,0 +1,30 @@
+package com.BankProject.BankApplication.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+
+// Single node without redis (tests, benchmarks), the shared cache lives in this process
+@Component
+@ConditionalOnExpression("'${spring.cache.type:redis}' != 'redis'")
+public class LocalSharedBalanceWriter implements SharedBalanceWriter {
+
+     @Autowired
+     private CacheManager cacheManager;
+
+     @Override
+     public synchronized void putIfNewer(Long accountNumber, CachedBalance balance) {
+          Cache shared = cacheManager.getCache("balances");
+          if (shared == null) {
+               return;
+          }
+          CachedBalance existing = shared.get(accountNumber, CachedBalance.class);
+          if (existing == null || existing.version() < balance.version()) {
+               shared.put(accountNumber, balance);
+          }
+     }
+}
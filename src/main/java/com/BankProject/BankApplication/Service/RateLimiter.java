@@ -0,0 +1,27 @@
+package com.BankProject.BankApplication.Service;
+
+/*
+ * Token buckets per key, kept on the node or shared by all nodes through redis.
+ * Buckets follow GCRA: the only state is the time at which the bucket is full again,
+ * every request pushes it one interval further and a request that would push it
+ * more than burst intervals ahead of now is rejected.
+ */
+public interface RateLimiter {
+
+     // takes a token from the bucket of the key, returns 0 when the request may pass
+     // or else the nanos until the next token is available
+     long tryAcquire(String key, Limit limit);
+
+     record Limit(double requestsPerSecond, int burst) {
+
+          // time in which one token is refilled
+          public long intervalNanos() {
+               return (long) (1_000_000_000L / requestsPerSecond);
+          }
+
+          // how far ahead of now the bucket state may run, burst requests at once
+          public long toleranceNanos() {
+               return intervalNanos() * burst;
+          }
+     }
+}
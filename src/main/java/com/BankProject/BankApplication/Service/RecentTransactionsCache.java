@@ -0,0 +1,33 @@
+package com.BankProject.BankApplication.Service;
+
+import java.util.List;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+
+/*
+ * Capped per account cache of the most recent transactions, newest first.
+ * Appends are constant time and the list is trimmed to the capacity, so a new
+ * transaction never rewrites the whole history of the account.
+ * Writes for one account are made from its command queue (AccountCommandExecutor),
+ * which keeps appends and rebuilds of the same account in order.
+ */
+public interface RecentTransactionsCache {
+
+     // number of transactions kept per account
+     int capacity();
+
+     // cached window starting at the given offset, or null when the account is not cached
+     RecentPage page(Long accountNumber, int offset, int size);
+
+     // adds the newest transaction, ignored when the account is not cached
+     void append(Long accountNumber, TransactionResponseDTO transaction);
+
+     // replaces the cached transactions of the account (newest first)
+     void replace(Long accountNumber, List<TransactionResponseDTO> transactions);
+
+     void evict(Long accountNumber);
+
+     // cachedCount is the number of transactions cached for the account, at most the capacity
+     record RecentPage(List<TransactionResponseDTO> content, int cachedCount) {
+     }
+}
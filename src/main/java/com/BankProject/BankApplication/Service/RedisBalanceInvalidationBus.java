@@ -0,0 +1,69 @@
+package com.BankProject.BankApplication.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Balance changes are published on a redis channel as "node:account:version".
+ * Every node subscribes and drops its local copy of the balance, messages sent
+ * by the node itself are ignored since its local cache is already up to date.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisBalanceInvalidationBus implements BalanceInvalidationBus {
+
+     private static final ChannelTopic CHANNEL = new ChannelTopic("balance-invalidations");
+
+     // tells our own messages apart from the ones of other nodes
+     private final String nodeId = UUID.randomUUID().toString();
+
+     private final List<BiConsumer<Long, Long>> listeners = new CopyOnWriteArrayList<>();
+
+     @Autowired
+     private StringRedisTemplate redisTemplate;
+
+     @Autowired
+     private RedisMessageListenerContainer listenerContainer;
+
+     @PostConstruct
+     void init() {
+          listenerContainer.addMessageListener((message, pattern) -> {
+               String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+               if (parts.length != 3 || nodeId.equals(parts[0])) {
+                    return;
+               }
+               Long accountNumber = Long.valueOf(parts[1]);
+               Long version = Long.valueOf(parts[2]);
+               listeners.forEach(listener -> listener.accept(accountNumber, version));
+          }, CHANNEL);
+     }
+
+     @Override
+     public void publish(Long accountNumber, long version) {
+          try {
+               redisTemplate.convertAndSend(CHANNEL.getTopic(), nodeId + ":" + accountNumber + ":" + version);
+          } catch (RuntimeException e) {
+               // other nodes fall back to the expiry of their local entry
+               log.warn("Could not publish balance change of account {}", accountNumber, e);
+          }
+     }
+
+     @Override
+     public void subscribe(BiConsumer<Long, Long> listener) {
+          listeners.add(listener);
+     }
+}
@@ -0,0 +1,127 @@
+package com.BankProject.BankApplication.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * "idempotency::<key>" holds "P|<token>|<fingerprint>" while a node runs the request (SET NX with
+ * a short TTL that the owner renews, so the key frees itself when that node dies), then
+ * "D|<fingerprint>|<response JSON>" for the full TTL. Renewing, completing and releasing a claim
+ * are scripts that only act while the value still carries the owner's token.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+     private static final String KEY_PREFIX = "idempotency::";
+
+     private static final String PENDING = "P|";
+
+     private static final String DONE = "D|";
+
+     // ARGV[1] is the pending prefix with the token, the other arguments depend on the script
+     private static final String OWNED = """
+               local value = redis.call('GET', KEYS[1])
+               if not value or string.sub(value, 1, string.len(ARGV[1])) ~= ARGV[1] then
+                    return 0
+               end
+               """;
+
+     private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(OWNED + """
+               redis.call('PEXPIRE', KEYS[1], ARGV[2])
+               return 1
+               """, Long.class);
+
+     private static final RedisScript<Long> COMPLETE = new DefaultRedisScript<>(OWNED + """
+               redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+               return 1
+               """, Long.class);
+
+     private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(OWNED + """
+               redis.call('DEL', KEYS[1])
+               return 1
+               """, Long.class);
+
+     @Value("${app.idempotency.ttl:PT24H}")
+     private Duration ttl;
+
+     @Value("${app.idempotency.pending-ttl:PT1M}")
+     private Duration pendingTtl;
+
+     @Autowired
+     private StringRedisTemplate redisTemplate;
+
+     @Autowired
+     private ObjectMapper objectMapper;
+
+     @Override
+     public Entry find(String key) {
+          String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+          if (value == null) {
+               return null;
+          }
+          String[] parts = value.split("\\|", 3);
+          if (value.startsWith(PENDING)) {
+               return new Entry(parts[2], null);
+          }
+          try {
+               return new Entry(parts[1], objectMapper.readValue(parts[2], TransactionResponseDTO.class));
+          } catch (JsonProcessingException e) {
+               throw new IllegalStateException("Unreadable idempotent response for key " + key, e);
+          }
+     }
+
+     @Override
+     public String claim(String key, String fingerprint) {
+          String token = UUID.randomUUID().toString();
+          boolean claimed = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(KEY_PREFIX + key, PENDING + token + "|" + fingerprint, pendingTtl));
+          return claimed ? token : null;
+     }
+
+     @Override
+     public boolean renew(String key, String token) {
+          return owned(RENEW, key, token, String.valueOf(pendingTtl.toMillis()));
+     }
+
+     @Override
+     public void complete(String key, String token, String fingerprint, TransactionResponseDTO response) {
+          String value;
+          try {
+               value = DONE + fingerprint + "|" + objectMapper.writeValueAsString(response);
+          } catch (JsonProcessingException e) {
+               throw new IllegalStateException("Could not store idempotent response for key " + key, e);
+          }
+          if (!owned(COMPLETE, key, token, value, String.valueOf(ttl.toMillis()))) {
+               log.warn("Claim of idempotency key {} expired before its response was stored", key);
+          }
+     }
+
+     @Override
+     public void release(String key, String token) {
+          owned(RELEASE, key, token);
+     }
+
+     private boolean owned(RedisScript<Long> script, String key, String token, String... arguments) {
+          Object[] args = new Object[arguments.length + 1];
+          args[0] = PENDING + token + "|";
+          System.arraycopy(arguments, 0, args, 1, arguments.length);
+          return Long.valueOf(1).equals(redisTemplate.execute(script, List.of(KEY_PREFIX + key), args));
+     }
+}
@@ -0,0 +1,57 @@
+package com.BankProject.BankApplication.Service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Quotas shared by all nodes (app.rate-limit.shared=true): the bucket state of every key is
+ * one "rate-limit::<key>" value in redis, moved by a script in a single round trip with the
+ * clock of the redis server, so the clocks of the nodes do not matter. The value expires
+ * when the bucket is full again. When redis can not be reached requests are let through.
+ */
+@Component
+@ConditionalOnExpression("'${spring.cache.type:redis}' == 'redis' and ${app.rate-limit.shared:false}")
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+     private static final String KEY_PREFIX = "rate-limit::";
+
+     // times in microseconds, returns the wait or 0 when a token was taken
+     private static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+               local time = redis.call('TIME')
+               local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+               local interval = tonumber(ARGV[1])
+               local tolerance = tonumber(ARGV[2])
+               local fullAt = tonumber(redis.call('GET', KEYS[1]) or now)
+               local next = math.max(fullAt, now) + interval
+               local wait = next - now - tolerance
+               if wait > 0 then
+                    return wait
+               end
+               redis.call('SET', KEYS[1], next, 'PX', math.ceil((next - now) / 1000))
+               return 0
+               """, Long.class);
+
+     @Autowired
+     private StringRedisTemplate redisTemplate;
+
+     @Override
+     public long tryAcquire(String key, Limit limit) {
+          try {
+               Long waitMicros = redisTemplate.execute(ACQUIRE, List.of(KEY_PREFIX + key),
+                         String.valueOf(limit.intervalNanos() / 1000), String.valueOf(limit.toleranceNanos() / 1000));
+               return waitMicros != null ? waitMicros * 1000 : 0;
+          } catch (RuntimeException e) {
+               log.debug("Rate limit of {} not checked, redis is not reachable", key, e);
+               return 0;
+          }
+     }
+}
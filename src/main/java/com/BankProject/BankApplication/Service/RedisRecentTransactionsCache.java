@@ -0,0 +1,133 @@
+package com.BankProject.BankApplication.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+
+/*
+ * Redis list per account: LPUSHX + LTRIM on append, LRANGE + LLEN on read.
+ * Appends never create the list, a missing list is rebuilt from the database,
+ * an account without transactions is cached as a "recent-transactions-empty::<account>" marker
+ * (turned into the list by its first append),
+ * and the TTL bounds how long a list can drift from the database when several
+ * nodes write the same account.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+public class RedisRecentTransactionsCache implements RecentTransactionsCache {
+
+     private static final String KEY_PREFIX = "recent-transactions::";
+
+     private static final String EMPTY_KEY_PREFIX = "recent-transactions-empty::";
+
+     // value of the empty marker, only its existence is checked
+     private static final TransactionResponseDTO EMPTY = new TransactionResponseDTO();
+
+     @Value("${app.cache.recent-transactions.capacity:100}")
+     private int capacity;
+
+     @Value("${app.cache.recent-transactions.ttl:PT1H}")
+     private Duration ttl;
+
+     @Autowired
+     private RedisTemplate<String, TransactionResponseDTO> recentTransactionsTemplate;
+
+     @Override
+     public int capacity() {
+          return capacity;
+     }
+
+     @Override
+     @SuppressWarnings("unchecked")
+     public RecentPage page(Long accountNumber, int offset, int size) {
+          String key = key(accountNumber);
+          String emptyKey = emptyKey(accountNumber);
+          List<Object> results = recentTransactionsTemplate.executePipelined(new SessionCallback<Object>() {
+               @Override
+               public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, TransactionResponseDTO> redis = typed(operations);
+                    redis.opsForList().range(key, offset, offset + size - 1L);
+                    redis.opsForList().size(key);
+                    redis.hasKey(emptyKey);
+                    return null;
+               }
+          });
+          long cachedCount = (Long) results.get(1);
+          if (cachedCount == 0) {
+               // cached "no transactions" or not cached at all
+               return Boolean.TRUE.equals(results.get(2)) ? new RecentPage(List.of(), 0) : null;
+          }
+          return new RecentPage((List<TransactionResponseDTO>) results.get(0), (int) cachedCount);
+     }
+
+     @Override
+     public void append(Long accountNumber, TransactionResponseDTO transaction) {
+          String key = key(accountNumber);
+          String emptyKey = emptyKey(accountNumber);
+          List<Object> results = recentTransactionsTemplate.executePipelined(new SessionCallback<Object>() {
+               @Override
+               public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, TransactionResponseDTO> redis = typed(operations);
+                    redis.hasKey(emptyKey);
+                    redis.opsForList().leftPushIfPresent(key, transaction);
+                    redis.opsForList().trim(key, 0, capacity - 1L);
+                    return null;
+               }
+          });
+          // first transaction of an account cached as empty, the appends of an account run one at a time
+          if (Boolean.TRUE.equals(results.get(0)) && Long.valueOf(0).equals(results.get(1))) {
+               replace(accountNumber, List.of(transaction));
+          }
+     }
+
+     @Override
+     public void replace(Long accountNumber, List<TransactionResponseDTO> transactions) {
+          String key = key(accountNumber);
+          String emptyKey = emptyKey(accountNumber);
+          List<TransactionResponseDTO> capped = transactions.subList(0, Math.min(transactions.size(), capacity));
+          recentTransactionsTemplate.executePipelined(new SessionCallback<Object>() {
+               @Override
+               public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, TransactionResponseDTO> redis = typed(operations);
+                    redis.delete(List.of(key, emptyKey));
+                    if (capped.isEmpty()) {
+                         // an empty list can not be stored, "no transactions" is a cache hit too
+                         redis.opsForValue().set(emptyKey, EMPTY, ttl);
+                    } else {
+                         redis.opsForList().rightPushAll(key, capped);
+                         redis.expire(key, ttl);
+                    }
+                    return null;
+               }
+          });
+     }
+
+     @Override
+     public void evict(Long accountNumber) {
+          recentTransactionsTemplate.delete(List.of(key(accountNumber), emptyKey(accountNumber)));
+     }
+
+     // the callbacks run on recentTransactionsTemplate, so the operations have its key and value types
+     @SuppressWarnings("unchecked")
+     private static RedisOperations<String, TransactionResponseDTO> typed(RedisOperations<?, ?> operations) {
+          return (RedisOperations<String, TransactionResponseDTO>) operations;
+     }
+
+     private String key(Long accountNumber) {
+          return KEY_PREFIX + accountNumber;
+     }
+
+     private String emptyKey(Long accountNumber) {
+          return EMPTY_KEY_PREFIX + accountNumber;
+     }
+}
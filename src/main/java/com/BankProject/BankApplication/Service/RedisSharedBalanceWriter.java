@@ -0,0 +1,76 @@
+package com.BankProject.BankApplication.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.Auth.RedisConfig;
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+import com.BankProject.BankApplication.Utils.CacheValueCodec;
+
+/*
+ * Nodes run their after commit hooks in any order, so a plain SET could put an older
+ * balance over a newer one. The script reads the version of the stored entry
+ * (CacheValueCodec format: tag 1, the balance as 8 bytes, the version as a zig-zag varint)
+ * and only writes when that version is older.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+public class RedisSharedBalanceWriter implements SharedBalanceWriter {
+
+     // ARGV: encoded balance, its version, TTL in millis
+     private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>("""
+               local current = redis.call('GET', KEYS[1])
+               if current and string.byte(current, 1) == 1 then
+                    local zigzag, shift = 0, 1
+                    for i = 10, string.len(current) do
+                         local b = string.byte(current, i)
+                         zigzag = zigzag + (b % 128) * shift
+                         if b < 128 then
+                              break
+                         end
+                         shift = shift * 128
+                    end
+                    local version = zigzag / 2
+                    if zigzag % 2 == 1 then
+                         version = -(zigzag + 1) / 2
+                    end
+                    if version >= tonumber(ARGV[2]) then
+                         return 0
+                    end
+               end
+               redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+               return 1
+               """, Long.class);
+
+     private final CacheValueCodec codec = new CacheValueCodec(null);
+
+     @Value("${app.cache.ttl.balances:PT1H}")
+     private Duration ttl;
+
+     @Autowired
+     private StringRedisTemplate redisTemplate;
+
+     @Override
+     public void putIfNewer(Long accountNumber, CachedBalance balance) {
+          redisTemplate.execute(PUT_IF_NEWER, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                    List.of(RedisConfig.cacheKeyPrefix("balances") + accountNumber),
+                    codec.serialize(balance),
+                    bytes(balance.version()),
+                    bytes(ttl.toMillis()));
+     }
+
+     private static byte[] bytes(long value) {
+          return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+     }
+}
@@ -0,0 +1,113 @@
+package com.BankProject.BankApplication.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.BankProject.BankApplication.Utils.BloomFilter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Revoked token ids are kept in redis as "revoked-token::<jti>" keys that expire together with the token.
+ * Every node holds a Bloom filter of them, so the check on each request stays in memory:
+ * only a possible hit asks redis. New revocations reach the filters of all nodes over a
+ * redis channel, and the filter is rebuilt from the keys on a schedule so expired
+ * revocations drop out of it.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+
+     private static final String KEY_PREFIX = "revoked-token::";
+
+     private static final ChannelTopic CHANNEL = new ChannelTopic("token-revocations");
+
+     @Value("${app.jwt.revocation.expected-tokens:100000}")
+     private long expectedTokens;
+
+     @Value("${app.jwt.revocation.false-positive-probability:0.01}")
+     private double falsePositiveProbability;
+
+     @Autowired
+     private StringRedisTemplate redisTemplate;
+
+     @Autowired
+     private RedisMessageListenerContainer listenerContainer;
+
+     private volatile BloomFilter filter;
+
+     // filter being rebuilt, revocations arriving meanwhile are added to it too
+     private volatile BloomFilter rebuilding;
+
+     @PostConstruct
+     void init() {
+          filter = new BloomFilter(expectedTokens, falsePositiveProbability);
+          listenerContainer.addMessageListener((message, pattern) -> addToFilters(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    CHANNEL);
+     }
+
+     @Override
+     public void revoke(String tokenId, Instant expiresAt) {
+          Duration remaining = Duration.between(Instant.now(), expiresAt);
+          if (remaining.isNegative() || remaining.isZero()) {
+               return;
+          }
+          redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, "1", remaining);
+          addToFilters(tokenId);
+          redisTemplate.convertAndSend(CHANNEL.getTopic(), tokenId);
+     }
+
+     @Override
+     public boolean isRevoked(String tokenId) {
+          if (!filter.mightContain(tokenId)) {
+               return false;
+          }
+          // possible hit, redis has the final word
+          return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+     }
+
+     // replaces the filter with one holding only the revocations still stored in redis
+     @Scheduled(initialDelay = 0, fixedDelayString = "${app.jwt.revocation.rebuild-interval:PT10M}")
+     void rebuild() {
+          BloomFilter rebuilt = new BloomFilter(expectedTokens, falsePositiveProbability);
+          rebuilding = rebuilt;
+          int count = 0;
+          ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+          try (Cursor<String> keys = redisTemplate.scan(options)) {
+               while (keys.hasNext()) {
+                    rebuilt.add(keys.next().substring(KEY_PREFIX.length()));
+                    count++;
+               }
+               filter = rebuilt;
+               log.info("Rebuilt revoked token filter with {} tokens", count);
+          } catch (RuntimeException e) {
+               // the old filter still holds every revocation it has seen
+               log.warn("Could not rebuild revoked token filter", e);
+          } finally {
+               rebuilding = null;
+          }
+     }
+
+     // reads the rebuilding filter first: when it is already gone, the current filter is the rebuilt one
+     private void addToFilters(String tokenId) {
+          BloomFilter next = rebuilding;
+          if (next != null) {
+               next.add(tokenId);
+          }
+          filter.add(tokenId);
+     }
+}
@@ -0,0 +1,9 @@
+package com.BankProject.BankApplication.Service;
+
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+
+// Writes committed balances to the shared "balances" cache, an entry with a newer version is kept
+public interface SharedBalanceWriter {
+
+     void putIfNewer(Long accountNumber, CachedBalance balance);
+}
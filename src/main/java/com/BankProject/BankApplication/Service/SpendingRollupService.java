@@ -0,0 +1,90 @@
+package com.BankProject.BankApplication.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.BankProject.BankApplication.DTOs.MonthlySpendingDTO;
+import com.BankProject.BankApplication.Entity.SpendingRollup;
+import com.BankProject.BankApplication.Entity.Transactions;
+import com.BankProject.BankApplication.Repository.SpendingRollupRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Monthly count and total per account and transaction type (SpendingRollup), so that
+ * analytics read one row per month and type instead of every transaction.
+ * The counters are incremented with an upsert in the DB transaction that records the
+ * transactions, so they commit or roll back together with them. Balance changes of an
+ * account already run one after another (AccountCommandExecutor), and rows are upserted
+ * in key order, so concurrent increments do not deadlock.
+ * Transactions booked before the rollups existed are counted by spending_rollup_backfill.sql.
+ */
+@Service
+public class SpendingRollupService {
+
+     // row alias, MySQL 8.0.20+ deprecates VALUES(col) in ON DUPLICATE KEY UPDATE
+     private static final String INCREMENT_SQL = "INSERT INTO spending_rollup "
+               + "(account_number, rollup_month, type, transaction_count, total_amount) VALUES (?, ?, ?, ?, ?) AS new "
+               + "ON DUPLICATE KEY UPDATE transaction_count = transaction_count + new.transaction_count, "
+               + "total_amount = total_amount + new.total_amount";
+
+     // H2 (tests, benchmarks) does not parse the row alias
+     private static final String H2_INCREMENT_SQL = "INSERT INTO spending_rollup "
+               + "(account_number, rollup_month, type, transaction_count, total_amount) VALUES (?, ?, ?, ?, ?) "
+               + "ON DUPLICATE KEY UPDATE transaction_count = transaction_count + VALUES(transaction_count), "
+               + "total_amount = total_amount + VALUES(total_amount)";
+
+     @Autowired
+     private SpendingRollupRepository spendingRollupRepository;
+
+     @Autowired
+     private JdbcTemplate jdbcTemplate;
+
+     private String incrementSql;
+
+     @PostConstruct
+     void init() {
+          String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+          incrementSql = "H2".equals(database) ? H2_INCREMENT_SQL : INCREMENT_SQL;
+     }
+
+     // adds the transactions to the counters of their month, has to run inside the recording transaction
+     public void add(List<Transactions> transactions) {
+          // one upsert per account, month and type, in key order
+          Map<String, Object[]> increments = new TreeMap<>();
+          for (Transactions transaction : transactions) {
+               Long accountNumber = transaction.getAccount().getAccountNumber();
+               LocalDate month = transaction.getTime().toLocalDate().withDayOfMonth(1);
+               String type = transaction.getType().name();
+               Object[] increment = increments.computeIfAbsent(
+                         String.format("%020d|%s|%s", accountNumber, month, type),
+                         key -> new Object[] { accountNumber, Date.valueOf(month), type, 0L, 0.0 });
+               increment[3] = (long) increment[3] + 1;
+               increment[4] = (double) increment[4] + transaction.getAmount();
+          }
+          jdbcTemplate.batchUpdate(incrementSql, new ArrayList<>(increments.values()));
+     }
+
+     // counters of the months from..to (both included), by month and then in the order of TransactionTypes
+     public List<MonthlySpendingDTO> monthlySpending(Long accountNumber, YearMonth from, YearMonth to) {
+          return spendingRollupRepository
+                    .findByAccountNumberAndMonthBetween(accountNumber, from.atDay(1), to.atDay(1))
+                    .stream()
+                    .sorted(Comparator.comparing(SpendingRollup::getMonth).thenComparing(SpendingRollup::getType))
+                    .map(rollup -> new MonthlySpendingDTO(YearMonth.from(rollup.getMonth()), rollup.getType(),
+                              rollup.getTransactionCount(), rollup.getTotalAmount()))
+                    .toList();
+     }
+}
@@ -0,0 +1,12 @@
+package com.BankProject.BankApplication.Service;
+
+import java.time.Instant;
+
+// Ids (jti) of jwt tokens that were logged out before they expired
+public interface TokenRevocationStore {
+
+     // the token is rejected until it expires on its own
+     void revoke(String tokenId, Instant expiresAt);
+
+     boolean isRevoked(String tokenId);
+}
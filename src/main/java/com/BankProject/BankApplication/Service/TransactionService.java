@@ -1,9 +1,17 @@
 package com.BankProject.BankApplication.Service;
 
 import java.nio.file.AccessDeniedException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import javax.naming.directory.InvalidAttributesException;
 import javax.security.auth.login.AccountNotFoundException;
@@ -11,15 +19,25 @@ import javax.security.auth.login.AccountNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.BankProject.BankApplication.DTOs.CachedAccount;
+import com.BankProject.BankApplication.DTOs.CursorPage;
+import com.BankProject.BankApplication.DTOs.MonthlySpendingDTO;
+import com.BankProject.BankApplication.DTOs.StatementDTO;
 import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.DTOs.TransactionSearchCriteria;
 import com.BankProject.BankApplication.DTOs.TransferSlip;
 import com.BankProject.BankApplication.Entity.Account;
 import com.BankProject.BankApplication.Entity.Transactions;
@@ -30,13 +48,28 @@ import com.BankProject.BankApplication.Exceptions.UserNotFoundException;
 import com.BankProject.BankApplication.Repository.AccountRepository;
 import com.BankProject.BankApplication.Repository.TransactionRepository;
 import com.BankProject.BankApplication.Repository.UserRepository;
+import com.BankProject.BankApplication.Service.RecentTransactionsCache.RecentPage;
+import com.BankProject.BankApplication.Utils.CursorCodec;
+import com.BankProject.BankApplication.Utils.SecurityUtils;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+// every public operation is timed with a percentile histogram, see also OperationMetricsAspect
+@Timed(value = "bank.operation", histogram = true)
 public class TransactionService {
 
+     // upper bound of slips in one batch transfer, keeps the DB transaction and its row locks short
+     public static final int MAX_BATCH_SIZE = 1000;
+
+     // longest statement, keeps the transactions of one statement in a reasonable response
+     public static final int MAX_STATEMENT_DAYS = 366;
+
+     // longest analytics range
+     public static final int MAX_ANALYTICS_MONTHS = 120;
+
      @Autowired
      private TransactionRepository transactionRepository;
 
@@ -50,106 +83,188 @@ public class TransactionService {
      @Autowired
      private CacheManager cacheManager;
 
+     // serializes balance changes per account
+     @Autowired
+     private AccountCommandExecutor accountCommandExecutor;
+
+     // local and shared balance cache read by /user/balance
+     @Autowired
+     private BalanceCache balanceCache;
+
+     // capped list of the latest transactions per account
+     @Autowired
+     private RecentTransactionsCache recentTransactionsCache;
+
+     // daily closing balances for statements
+     @Autowired
+     private BalanceSnapshotService balanceSnapshotService;
+
+     // monthly totals per transaction type
+     @Autowired
+     private SpendingRollupService spendingRollupService;
+
 
 
-     // Logic behind getting all the transaction history
+     // Logic behind getting all the transaction history, newest first
+     // the first pages are served from the capped recent transactions cache, deeper pages from the DB
      public Page<TransactionResponseDTO> checkTransactionHistory(int page, int size) {
-          // transaction cache
-          Cache txCache = cacheManager.getCache("transactions");
-          User user = findUser();
-          log.info("Checking transaction history of user {}", user.getEmail());
-          Pageable pageable = PageRequest.of(page, size);
-          if (txCache != null) {
-               // get the list of transactions if available in cache memory
-               List<Transactions> txList = txCache.get(user.getAccount().getAccountNumber(), List.class);
-               // check if the transactions list is availabe for the respective account
-               if (txList != null && !txList.isEmpty()) {
-                    log.info("Returnig the list of transactions from the cache memory for the user {}",
-                              user.getEmail());
-                    // Applying pagination manually
-                    int start = Math.min((int) pageable.getOffset(), txList.size()); // index of the first record for
-                                                                                     // the current page
-                    int end = Math.min((start + pageable.getPageSize()), txList.size()); // the index where the page
-                                                                                         // should end
-                    // converting it into pagiable of the TransactionResponseDto
-                    List<TransactionResponseDTO> responseList = txList.subList(start, end)
-                              .stream()
-                              .map(transaction -> new TransactionResponseDTO(
-                                        transaction.getTransactionId(),
-                                        transaction.getAmount(),
-                                        transaction.getType(),
-                                        transaction.getTime(),
-                                        transaction.getAccount().getAccountNumber()))
-                              .toList();
-                              // returning the response of the pageable
-                    return new PageImpl<>(responseList, pageable, txList.size());
+          String email = findUserEmail();
+          Long accountNumber = currentAccountNumber();
+          log.info("Checking transaction history of user {}", email);
+          // same order as the cache, rows of a batch transfer share their time
+          Pageable pageable = PageRequest.of(page, size,
+                    Sort.by(Sort.Direction.DESC, "time").and(Sort.by(Sort.Direction.DESC, "transactionId")));
+          if (pageable.getOffset() + size <= recentTransactionsCache.capacity()) {
+               int offset = (int) pageable.getOffset();
+               RecentPage recentPage = recentTransactionsCache.page(accountNumber, offset, size);
+               if (recentPage == null) {
+                    log.info("Recent transactions of user {} not cached, loading them from DB", email);
+                    recentPage = loadRecentTransactions(accountNumber, offset, size);
                }
+               // a cache below its capacity holds the complete history of the account
+               long total = recentPage.cachedCount() < recentTransactionsCache.capacity()
+                         ? recentPage.cachedCount()
+                         : transactionRepository.countByAccount_AccountNumber(accountNumber);
+               return new PageImpl<>(recentPage.content(), pageable, total);
           }
-          log.info("Cache failed : Calling DB for the transaction history of the user {}", user.getEmail());
+          log.info("Page beyond the recent transactions : Calling DB for the transaction history of the user {}",
+                    email);
           return transactionRepository
-                    .findByAccount_AccountNumber(user.getAccount().getAccountNumber(), pageable)
-                    .map(transaction -> new TransactionResponseDTO(
-                              transaction.getTransactionId(),
-                              transaction.getAmount(),
-                              transaction.getType(),
-                              transaction.getTime(),
-                              transaction.getAccount().getAccountNumber()));
+                    .findByAccount_AccountNumber(accountNumber, pageable)
+                    .map(this::toResponse);
+     }
+
+     // rebuilds the recent transactions cache of the account inside its command queue, so no
+     // transaction of the account can be appended while the list is being rebuilt
+     private RecentPage loadRecentTransactions(Long accountNumber, int offset, int size) {
+          List<TransactionResponseDTO> recent = accountCommandExecutor.execute(accountNumber, () -> {
+               List<TransactionResponseDTO> transactions = transactionRepository.findHistory(accountNumber,
+                         Limit.of(recentTransactionsCache.capacity()));
+               recentTransactionsCache.replace(accountNumber, transactions);
+               return transactions;
+          });
+          int start = Math.min(offset, recent.size());
+          int end = Math.min(offset + size, recent.size());
+          return new RecentPage(recent.subList(start, end), recent.size());
+     }
+
+     // Keyset paginated history, newest first: the cursor is the (time, transactionId) of the
+     // last transaction of the previous page, so every page is an index range scan
+     public CursorPage<TransactionResponseDTO> checkTransactionHistory(String cursor, int size) {
+          Long accountNumber = currentAccountNumber();
+          // one extra row tells whether there is a next page
+          Limit limit = Limit.of(size + 1);
+          List<TransactionResponseDTO> transactions;
+          if (cursor == null || cursor.isEmpty()) {
+               transactions = transactionRepository.findHistory(accountNumber, limit);
+          } else {
+               String[] position = CursorCodec.decode(cursor, 2);
+               LocalDateTime afterTime;
+               try {
+                    afterTime = LocalDateTime.parse(position[0]);
+               } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid cursor");
+               }
+               transactions = transactionRepository.findHistoryAfter(accountNumber, afterTime, position[1], limit);
+          }
+          boolean hasNext = transactions.size() > size;
+          List<TransactionResponseDTO> content = hasNext ? transactions.subList(0, size) : transactions;
+          String nextCursor = null;
+          if (hasNext) {
+               TransactionResponseDTO last = content.get(content.size() - 1);
+               nextCursor = CursorCodec.encode(last.getTime().toString(), last.getTransactionId());
+          }
+          return new CursorPage<>(content, nextCursor, hasNext);
+     }
+
+     // Transactions of the logged in user matching the filters, newest first
+     public Slice<TransactionResponseDTO> searchTransactions(TransactionSearchCriteria criteria, int page, int size) {
+          if (criteria.getFrom() != null && criteria.getTo() != null && criteria.getFrom().isAfter(criteria.getTo())) {
+               throw new IllegalArgumentException("From should not be after to");
+          }
+          if ((criteria.getMinAmount() != null && criteria.getMinAmount() < 0)
+                    || (criteria.getMaxAmount() != null && criteria.getMaxAmount() < 0)) {
+               throw new IllegalArgumentException("Amounts should not be negative");
+          }
+          if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                    && criteria.getMinAmount() > criteria.getMaxAmount()) {
+               throw new IllegalArgumentException("Minimum amount should not be above the maximum amount");
+          }
+          return transactionRepository.search(currentAccountNumber(), criteria, PageRequest.of(page, size));
+     }
+
+     // Monthly count and total per transaction type of the logged in user's account,
+     // read from the rollups so the cost follows the number of months
+     public List<MonthlySpendingDTO> monthlySpending(YearMonth from, YearMonth to) {
+          if (from.isAfter(to)) {
+               throw new IllegalArgumentException("From should not be after to");
+          }
+          if (ChronoUnit.MONTHS.between(from, to) >= MAX_ANALYTICS_MONTHS) {
+               throw new IllegalArgumentException("Analytics cover at most " + MAX_ANALYTICS_MONTHS + " months");
+          }
+          return spendingRollupService.monthlySpending(currentAccountNumber(), from, to);
+     }
+
+     // Statement of the days from..to: the opening balance comes from the nearest daily snapshot,
+     // so the cost depends on the length of the range and not on the age of the account
+     @Transactional(readOnly = true)
+     public StatementDTO statement(LocalDate from, LocalDate to) throws AccountNotFoundException {
+          if (from.isAfter(to)) {
+               throw new IllegalArgumentException("From should not be after to");
+          }
+          if (ChronoUnit.DAYS.between(from, to) >= MAX_STATEMENT_DAYS) {
+               throw new IllegalArgumentException("A statement covers at most " + MAX_STATEMENT_DAYS + " days");
+          }
+          Long accountNumber = currentAccountNumber();
+          double openingBalance = balanceSnapshotService.balanceAtStartOf(accountNumber, from);
+          List<TransactionResponseDTO> transactions = transactionRepository.findStatement(accountNumber,
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+          double closingBalance = openingBalance;
+          for (TransactionResponseDTO transaction : transactions) {
+               closingBalance += transaction.getType().increasesBalance() ? transaction.getAmount()
+                         : -transaction.getAmount();
+          }
+          return new StatementDTO(accountNumber, from, to, openingBalance, closingBalance, transactions);
      }
 
      // Deposit Amount
-     @Transactional
+     // balance changes run through the account's command queue, see AccountCommandExecutor
      public TransactionResponseDTO deposit(Double amount) throws IllegalArgumentException {
-          
-          // balance cache
-          Cache balanceCache = cacheManager.getCache("balances");
-          // account cache
-          Cache accountCache = cacheManager.getCache("accounts");
           if (amount < 0) {
                log.error("Amount should not  Negative!");
                throw new IllegalArgumentException("Amount should not be negative");
           }
-          User user = findUser();
-          Account account = user.getAccount();
-          account.setBalance(account.getBalance() + amount);
-          accountRepository.save(account);
-          if (accountCache !=null && balanceCache != null) {
-               accountCache.put(account.getAccountNumber(), account);
-               balanceCache.put(account.getAccountNumber(), account.getBalance());
-               
-          }
-
-          return createTransactions(account, amount, TransactionTypes.DEPOSIT);
+          Long accountNumber = currentAccountNumber();
+          return accountCommandExecutor.execute(accountNumber, () -> {
+               // reading the latest balance inside the command
+               Account account = findAccount(accountNumber);
+               account.setBalance(account.getBalance() + amount);
+               accountRepository.save(account);
+               cacheAccounts(List.of(account));
+               return createTransactions(account, amount, TransactionTypes.DEPOSIT);
+          });
      }
 
      // Withdraw amount
-     @Transactional
      public TransactionResponseDTO withdraw(Double amount)
                throws IllegalArgumentException, InsufficientAmountException {
-                    
-          // balance cache
-          Cache balanceCache = cacheManager.getCache("balances");
-          // account cache
-          Cache accountCache = cacheManager.getCache("accounts");
           if (amount < 0) {
                throw new IllegalArgumentException("Amount should be greater than 0");
           }
-          User user = findUser();
-          Account account = user.getAccount();
-          if (amount > account.getBalance()) {
-               throw new InsufficientAmountException("Insufficient amount");
-          }
-          account.setBalance(account.getBalance() - amount);
-          accountRepository.save(account);
-          if (accountCache != null && balanceCache != null) {
-               accountCache.put(account.getAccountNumber(), account);
-               balanceCache.put(account.getAccountNumber(), account.getBalance());
-
-          }
-          return createTransactions(account, amount, TransactionTypes.WITHDRAW);
+          Long accountNumber = currentAccountNumber();
+          return accountCommandExecutor.execute(accountNumber, () -> {
+               Account account = findAccount(accountNumber);
+               if (amount > account.getBalance()) {
+                    throw new InsufficientAmountException("Insufficient amount");
+               }
+               account.setBalance(account.getBalance() - amount);
+               accountRepository.save(account);
+               cacheAccounts(List.of(account));
+               return createTransactions(account, amount, TransactionTypes.WITHDRAW);
+          });
      }
 
      // transfer amount
-     @Transactional
      public TransactionResponseDTO transferAmount(TransferSlip transferSlip)
                throws AccountNotFoundException, InvalidAttributesException, AccessDeniedException {
           if (transferSlip.getSenderAccountNumber() == null || transferSlip.getRecieverAccountNumber() == null
@@ -176,75 +291,196 @@ public class TransactionService {
                          "You can not transfer into your same account");
           }
 
+          // the transfer waits for the queues of both accounts, so no other change of
+          // either balance can interleave with it
+          return accountCommandExecutor.execute(
+                    List.of(senderAccount.getAccountNumber(), recieverAccount.getAccountNumber()),
+                    () -> executeTransfer(senderAccount.getAccountNumber(), recieverAccount.getAccountNumber(),
+                              transferSlip.getAmount()));
+     }
+
+     // Transfers every slip from the account of the user, all or nothing: either every slip is
+     // booked in one DB transaction or none is, the error names the index of the failing slip
+     public List<TransactionResponseDTO> transferBatch(List<TransferSlip> transferSlips)
+               throws AccountNotFoundException, InvalidAttributesException, AccessDeniedException {
+          if (transferSlips == null || transferSlips.isEmpty() || transferSlips.size() > MAX_BATCH_SIZE) {
+               throw new InvalidAttributesException("A batch should have between 1 and " + MAX_BATCH_SIZE + " slips");
+          }
+          // the principal is resolved once for the whole batch
+          Long ownAccountNumber = currentAccountNumber();
+          TreeSet<Long> accountNumbers = new TreeSet<>();
+          accountNumbers.add(ownAccountNumber);
+          for (int i = 0; i < transferSlips.size(); i++) {
+               TransferSlip transferSlip = transferSlips.get(i);
+               if (transferSlip == null || transferSlip.getSenderAccountNumber() == null
+                         || transferSlip.getRecieverAccountNumber() == null || transferSlip.getAmount() == null
+                         || transferSlip.getAmount() < 1.0) {
+                    log.error("Invalid data in slip {} : {}", i, transferSlip);
+                    throw new InvalidAttributesException("Slip " + i + ": Please give valid data!");
+               }
+               if (!transferSlip.getSenderAccountNumber().equals(ownAccountNumber)) {
+                    throw new AccessDeniedException("Slip " + i + ": You can only transfer from your account");
+               }
+               if (transferSlip.getRecieverAccountNumber().equals(ownAccountNumber)) {
+                    throw new AccessDeniedException("Slip " + i + ": You can not transfer into your same account");
+               }
+               accountNumbers.add(transferSlip.getRecieverAccountNumber());
+          }
+          // receivers are checked in one query, the same one locks them later inside the command
+          if (accountRepository.countByAccountNumberIn(accountNumbers) != accountNumbers.size()) {
+               for (int i = 0; i < transferSlips.size(); i++) {
+                    Long recieverAccountNumber = transferSlips.get(i).getRecieverAccountNumber();
+                    if (!accountRepository.existsById(recieverAccountNumber)) {
+                         throw new AccountNotFoundException(
+                                   "Slip " + i + ": Account with given account number is not found "
+                                             + recieverAccountNumber);
+                    }
+               }
+          }
+          return accountCommandExecutor.execute(accountNumbers,
+                    () -> executeTransferBatch(ownAccountNumber, accountNumbers, transferSlips));
+     }
+
+     // books all slips, runs inside the command queue of every touched account
+     private List<TransactionResponseDTO> executeTransferBatch(Long senderAccountNumber, TreeSet<Long> accountNumbers,
+               List<TransferSlip> transferSlips) {
+          // one query for all accounts, row locks are taken in account number order
+          Map<Long, Account> accounts = new HashMap<>();
+          accountRepository.findByAccountNumberInOrderByAccountNumber(accountNumbers)
+                    .forEach(account -> accounts.put(account.getAccountNumber(), account));
+          Account senderAccount = accounts.get(senderAccountNumber);
+          List<Transactions> transactions = new ArrayList<>(transferSlips.size() * 2);
+          LocalDateTime time = LocalDateTime.now();
+          for (int i = 0; i < transferSlips.size(); i++) {
+               TransferSlip transferSlip = transferSlips.get(i);
+               Account recieverAccount = accounts.get(transferSlip.getRecieverAccountNumber());
+               double amount = transferSlip.getAmount();
+               if (senderAccount.getBalance() < amount) {
+                    // nothing is written, the whole command transaction is rolled back
+                    throw new InsufficientAmountException("Slip " + i + ": Insufficient amount!");
+               }
+               senderAccount.setBalance(senderAccount.getBalance() - amount);
+               recieverAccount.setBalance(recieverAccount.getBalance() + amount);
+               transactions.add(newTransaction(senderAccount, amount, TransactionTypes.TRANSFER, time));
+               transactions.add(newTransaction(recieverAccount, amount, TransactionTypes.CREDIT, time));
+          }
+          // balances are flushed as batched updates and the rows as batched inserts on commit
+          accountRepository.saveAll(accounts.values());
+          List<TransactionResponseDTO> booked = recordTransactions(transactions);
+          cacheAccounts(accounts.values());
+          // the senders side of every slip, in slip order
+          List<TransactionResponseDTO> senderTransactions = new ArrayList<>(transferSlips.size());
+          for (int i = 0; i < booked.size(); i += 2) {
+               senderTransactions.add(booked.get(i));
+          }
+          return senderTransactions;
+     }
+
+     // moves the amount between the accounts, runs inside the command queue of both accounts
+     private TransactionResponseDTO executeTransfer(Long senderAccountNumber, Long recieverAccountNumber,
+               Double amount) {
+          // reading the latest balances inside the command
+          Account senderAccount = findAccount(senderAccountNumber);
+          Account recieverAccount = findAccount(recieverAccountNumber);
+
           // Started transactions
           // first amount will be withdrawn from senders account
           // checks the is there is sufficient amount in the senders account
-          if (senderAccount.getBalance() < transferSlip.getAmount()) {
+          if (senderAccount.getBalance() < amount) {
                throw new InsufficientAmountException("Insufficient amount!");
           }
           // SETTING SENDERS ACCOUNT BALANCE
-          senderAccount.setBalance(senderAccount.getBalance() - transferSlip.getAmount());
+          senderAccount.setBalance(senderAccount.getBalance() - amount);
           // SETTING RECIVERS ACCOUNT BALANCE
-          recieverAccount.setBalance(recieverAccount.getBalance() + transferSlip.getAmount());
+          recieverAccount.setBalance(recieverAccount.getBalance() + amount);
           // SAVING SENDERS ACCOUNT INTO DATABASE
           accountRepository.save(senderAccount);
           // creating transaction for the senders account
-          TransactionResponseDTO senderTransactions = createTransactions(senderAccount, transferSlip.getAmount(),
+          TransactionResponseDTO senderTransactions = createTransactions(senderAccount, amount,
                     TransactionTypes.TRANSFER);
           accountRepository.save(recieverAccount);
           // CREATED TRANSACTION FOR THE RECIEVERS ACCOUNT
-          createTransactions(recieverAccount, transferSlip.getAmount(), TransactionTypes.CREDIT);
-          
-          // balance cache
-          Cache balanceCache = cacheManager.getCache("balances");
-          // account cache
-          Cache accountCache = cacheManager.getCache("accounts");
-          // adding it to cache
-          if (accountCache != null && balanceCache != null) {
-               accountCache.put(senderAccount.getAccountNumber(), senderAccount);
-               accountCache.put(recieverAccount.getAccountNumber(), recieverAccount);
-               balanceCache.put(senderAccount.getAccountNumber(), senderAccount.getBalance());
-               balanceCache.put(recieverAccount.getAccountNumber(), recieverAccount.getBalance());
-
+          createTransactions(recieverAccount, amount, TransactionTypes.CREDIT);
 
-          }
+          // adding it to cache
+          cacheAccounts(List.of(senderAccount, recieverAccount));
           // RETURNS SENDERS TRANSACTIONS DETAILS
           return senderTransactions;
      }
 
+     // puts the changed accounts and balances into the caches once the command transaction is committed,
+     // the version is only incremented when the change is flushed
+     private void cacheAccounts(Collection<Account> accounts) {
+          TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+               @Override
+               public void afterCommit() {
+                    // account cache
+                    Cache accountCache = cacheManager.getCache("accounts");
+                    for (Account account : accounts) {
+                         if (accountCache != null) {
+                              accountCache.put(account.getAccountNumber(), CachedAccount.of(account));
+                         }
+                         balanceCache.update(account.getAccountNumber(), account.getBalance(), account.getVersion());
+                    }
+               }
+          });
+     }
+
      // Initiates transaction
      private TransactionResponseDTO createTransactions(Account account, Double amount, TransactionTypes type) {
           // Record transaction
+          Transactions transaction = newTransaction(account, amount, type, LocalDateTime.now());
+          return recordTransactions(List.of(transaction)).get(0);
+     }
+
+     private Transactions newTransaction(Account account, Double amount, TransactionTypes type, LocalDateTime time) {
           Transactions transaction = new Transactions();
           transaction.setAccount(account);
           transaction.setType(type);
           transaction.setAmount(amount);
-          transaction.setTime(LocalDateTime.now());
-          transactionRepository.save(transaction); // Save transaction record
-
-          // Applying caching logic
-          Cache cacheTransactions = cacheManager.getCache("transactions");
-          // checks cache is available
-          if (cacheTransactions != null) {
-               List<Transactions> txList = cacheTransactions.get(account.getAccountNumber(), List.class);
-               // if transactions list is empty then create it
-               if (txList == null) {
-                    txList = new ArrayList<>();
+          transaction.setTime(time);
+          return transaction;
+     }
+
+     // saves the transaction records and appends them to the recent transactions cache after commit
+     private List<TransactionResponseDTO> recordTransactions(List<Transactions> transactions) {
+          transactionRepository.saveAll(transactions); // Save transaction records
+          // monthly counters, in the same DB transaction
+          spendingRollupService.add(transactions);
+          List<TransactionResponseDTO> responses = transactions.stream().map(this::toResponse).toList();
+
+          // Applying caching logic, only once the transaction is committed
+          // still runs on the command thread, so appends of one account stay in order
+          TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+               @Override
+               public void afterCommit() {
+                    responses.forEach(response -> recentTransactionsCache.append(response.getAccountNumber(), response));
                }
-               // add the transctions to the list
-               txList.add(transaction);
-               // puts it into cache memory
-               cacheTransactions.put(account.getAccountNumber(), txList);
+          });
 
-          }
-          TransactionResponseDTO transactionResponseDTO = new TransactionResponseDTO();
-          transactionResponseDTO.setAmount(amount);
-          transactionResponseDTO.setTime(transaction.getTime());
-          transactionResponseDTO.setTransactionId(transaction.getTransactionId());
-          transactionResponseDTO.setType(transaction.getType());
-          transactionResponseDTO.setAccountNumber(account.getAccountNumber());
-
-          return transactionResponseDTO;
+          return responses;
+     }
+
+     private TransactionResponseDTO toResponse(Transactions transaction) {
+          return new TransactionResponseDTO(
+                    transaction.getTransactionId(),
+                    transaction.getAmount(),
+                    transaction.getType(),
+                    transaction.getTime(),
+                    transaction.getAccount().getAccountNumber());
+     }
+
+     // Finds the account inside a command, the account was already validated by the caller
+     private Account findAccount(Long accountNumber) {
+          return accountRepository.findById(accountNumber)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                              "Account with given account number is not found " + accountNumber));
+     }
+
+     // account number of the logged in user, from the token claims when they carry it
+     private Long currentAccountNumber() {
+          Long accountNumber = SecurityUtils.currentAccountNumber();
+          return accountNumber != null ? accountNumber : findUser().getAccount().getAccountNumber();
      }
 
      // Finds the respective user
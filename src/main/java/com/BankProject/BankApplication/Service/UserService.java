@@ -11,29 +11,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.BankProject.BankApplication.DTOs.CachedUser;
+import com.BankProject.BankApplication.DTOs.CursorPage;
 import com.BankProject.BankApplication.DTOs.CustomUserInfo;
 import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
 import com.BankProject.BankApplication.Entity.User;
 import com.BankProject.BankApplication.Entity.VerificationToken;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.CustomerSort;
 import com.BankProject.BankApplication.Enum.Role;
 import com.BankProject.BankApplication.Exceptions.UserAlreadyExistsException;
 import com.BankProject.BankApplication.Exceptions.UserNotFoundException;
 import com.BankProject.BankApplication.Repository.UserRepository;
 import com.BankProject.BankApplication.Repository.VerificationTokenRepository;
+import com.BankProject.BankApplication.Utils.CursorCodec;
+import com.BankProject.BankApplication.Utils.SecurityUtils;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+// every public operation is timed with a percentile histogram, see also OperationMetricsAspect
+@Timed(value = "bank.operation", histogram = true)
 public class UserService {
      // Password encoder is declare to encode the raw password entered by the user
      @Autowired
@@ -84,8 +93,8 @@ public class UserService {
                verificationToken.setUser(savedUser);
                verificationToken.setExpiryDate(LocalDateTime.now().plusHours(2));
                verificationTokenRepository.save(verificationToken);
-               log.info("Sending email verification link to the user");
-               emailService.sendVerificationEmail(savedUser.getEmail(), token);
+               log.info("Queueing email verification link to the user");
+               emailService.queueVerificationEmail(savedUser.getEmail(), token);
 
                return createCustomUserInfo(savedUser);
           }
@@ -93,40 +102,22 @@ public class UserService {
           throw new UserAlreadyExistsException("User with email " + userAccountTemplate.getEmail() + " already exists");
      }
 
-     // UPDATE THE EXISTING USER in cache and db by calling updateExistingUser()
-     // method
+     // UPDATE THE EXISTING USER in db and refreshes its snapshot in the cache
+     // the user is always loaded from the DB, a cached copy is never written back
+     @Transactional
      public CustomUserInfo updateUser(String id, User updatedUser) throws AccessDeniedException {
-          // user cache
-          Cache userCache = cacheManager.getCache("user");
-          // check cache memory for the users
-
-          if (userCache != null) {
-               // find user from cache
-               User existingCacheUser = userCache.get(id, User.class);
-               // check user is available in cache
-               if (existingCacheUser != null) {
-                    // chaange existingCacheUser to the updated version
-                    existingCacheUser = updateExistingUser(existingCacheUser, updatedUser, id);
-                    // save to DB
-                    userRepository.save(existingCacheUser);
-                    // add to cache memory
-                    userCache.put(id, existingCacheUser);
-                    return createCustomUserInfo(existingCacheUser);
-               }
-          }
-          // if user is not in the cache memory then DB call will be made and updated it
-          // in DB as well as in cache memory
           // FINDS THE USER BY THE ID
           User existingUser = userRepository.findById(id)
                     .orElseThrow(
                               () -> new UserNotFoundException("user for the given id " + id + " not found"));
           // save in DB
           User savedUser = userRepository.save(updateExistingUser(existingUser, updatedUser, id));
-          // put saved user into cache
+          // put the snapshot of the saved user into cache
+          Cache userCache = cacheManager.getCache("user");
           if (userCache != null) {
-               userCache.put(id, savedUser);
+               userCache.put(id, CachedUser.of(savedUser));
           }
-          return createCustomUserInfo(updateExistingUser(existingUser, updatedUser, id));
+          return createCustomUserInfo(savedUser);
      }
 
      // updating user
@@ -173,12 +164,23 @@ public class UserService {
 
      // checking acount balance
      public double accountBalance() throws AccountNotFoundException {
+          log.info("called balance method ");
+          return accountService.checkBalance(currentAccountNumber());
+     }
+
+     // account number of the logged in user, taken from the authenticated principal when possible
+     private Long currentAccountNumber() throws AccountNotFoundException {
+          Long accountNumber = SecurityUtils.currentAccountNumber();
+          if (accountNumber != null) {
+               return accountNumber;
+          }
           User user = userRepository.findUserByEmailIgnoreCase(findCurrentUserEmail())
                     .orElseThrow(() -> new UserNotFoundException(
                               "user for the given email  " + findCurrentUserEmail() + " not found"));
-
-          log.info("called balance method ");
-          return accountService.checkBalance(user.getAccount().getAccountNumber());
+          if (user.getAccount() == null) {
+               throw new AccountNotFoundException("No account for the user " + user.getEmail());
+          }
+          return user.getAccount().getAccountNumber();
      }
 
      private Boolean validateUser(String id) {
@@ -220,6 +222,7 @@ public class UserService {
      }
 
      // Get current user info for dashboard
+     @Transactional(readOnly = true)
      public CustomUserInfo getCurrentUserInfo() {
           User user = userRepository.findUserByEmailIgnoreCase(findCurrentUserEmail())
                     .orElseThrow(() -> new UserNotFoundException("User not found"));
@@ -246,22 +249,48 @@ public class UserService {
           userRepository.save(user);
      }
 
+     // customers with their accounts, filtered, joined and counted in the DB
+     @Transactional(readOnly = true)
      public Page<CustomUserInfo> getAllUsers(int page, int size) {
-          Pageable pageable = PageRequest.of(page, size);
-          Page<User> userPage = userRepository.findAll(pageable);
-          List<CustomUserInfo> filteredUsers = userPage
-                    .stream()
-                    .filter(user -> user.getRole() == Role.USER && user.getAccount() != null)
-                    .map(user -> new CustomUserInfo(
-                              user.getUserId(),
-                              user.getFullName(),
-                              user.getEmail(),
-                              user.getRole(),
-                              user.getAccount().getAccountNumber(),
-                              user.getAccount().getBalance(),
-                              user.getAccount().getAccountType()))
-                    .toList();
-          return new PageImpl<>(filteredUsers, pageable, filteredUsers.size());
+          Pageable pageable = PageRequest.of(page, size, Sort.by("a.accountNumber"));
+          return userRepository.findUserInfoByRole(Role.USER, pageable);
+     }
+
+     // keyset paginated customers ordered by the given column, the cursor is the
+     // (sorted value, account number) of the last customer of the previous page
+     @Transactional(readOnly = true)
+     public CursorPage<CustomUserInfo> getCustomers(CustomerSort sort, boolean descending, String cursor, int size) {
+          Object afterValue = null;
+          Long afterAccountNumber = null;
+          if (cursor != null && !cursor.isEmpty()) {
+               String[] position = CursorCodec.decode(cursor, 2);
+               try {
+                    afterValue = switch (sort) {
+                         case BALANCE -> Double.valueOf(position[0]);
+                         case ACCOUNT_TYPE -> AccountType.valueOf(position[0]);
+                         case ACCOUNT_NUMBER -> null;
+                    };
+                    afterAccountNumber = Long.valueOf(position[1]);
+               } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid cursor");
+               }
+          }
+          // one extra row tells whether there is a next page
+          List<CustomUserInfo> customers = userRepository.findCustomers(sort, descending, afterValue,
+                    afterAccountNumber, size + 1);
+          boolean hasNext = customers.size() > size;
+          List<CustomUserInfo> content = hasNext ? customers.subList(0, size) : customers;
+          String nextCursor = null;
+          if (hasNext) {
+               CustomUserInfo last = content.get(content.size() - 1);
+               String value = switch (sort) {
+                    case BALANCE -> Double.toString(last.getBalance());
+                    case ACCOUNT_TYPE -> last.getAccountType().name();
+                    case ACCOUNT_NUMBER -> "";
+               };
+               nextCursor = CursorCodec.encode(value, last.getAccountNumber().toString());
+          }
+          return new CursorPage<>(content, nextCursor, hasNext);
      }
 
      // verifies the token sent from the email
@@ -0,0 +1,72 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Lock-free Bloom filter over strings.
+ * Bits are set with compare-and-set, so adds and lookups from any number of
+ * threads never block. mightContain never misses an added value, it can only
+ * report a value that was not added (with about the configured probability).
+ */
+public class BloomFilter {
+
+     private final AtomicLongArray bits;
+     private final long bitCount;
+     private final int hashCount;
+
+     public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+          long expected = Math.max(1, expectedInsertions);
+          // optimal size and number of hash functions for the expected insertions
+          long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+          int words = (int) Math.max(1, (optimalBits + 63) / 64);
+          this.bits = new AtomicLongArray(words);
+          this.bitCount = (long) words * 64;
+          this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+     }
+
+     public void add(String value) {
+          long hash = hash(value);
+          int first = (int) hash;
+          int second = (int) (hash >>> 32);
+          for (int i = 1; i <= hashCount; i++) {
+               long bit = index(first + i * second);
+               int word = (int) (bit >>> 6);
+               long mask = 1L << bit;
+               long current = bits.get(word);
+               while ((current & mask) == 0 && !bits.weakCompareAndSetVolatile(word, current, current | mask)) {
+                    current = bits.get(word);
+               }
+          }
+     }
+
+     public boolean mightContain(String value) {
+          long hash = hash(value);
+          int first = (int) hash;
+          int second = (int) (hash >>> 32);
+          for (int i = 1; i <= hashCount; i++) {
+               long bit = index(first + i * second);
+               if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+               }
+          }
+          return true;
+     }
+
+     private long index(int combined) {
+          return (combined & Integer.MAX_VALUE) % bitCount;
+     }
+
+     // 64 bit FNV-1a with a final avalanche mix, the two halves drive the double hashing
+     private static long hash(String value) {
+          long hash = 0xcbf29ce484222325L;
+          for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+               hash ^= b;
+               hash *= 0x100000001b3L;
+          }
+          hash ^= hash >>> 33;
+          hash *= 0xff51afd7ed558ccdL;
+          hash ^= hash >>> 33;
+          return hash;
+     }
+}
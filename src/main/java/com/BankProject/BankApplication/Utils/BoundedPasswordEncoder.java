@@ -0,0 +1,37 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Password encoder that hashes on the PasswordHashingExecutor instead of the calling request thread
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+     private final PasswordEncoder delegate;
+     private final PasswordHashingExecutor executor;
+
+     public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+          this.delegate = delegate;
+          this.executor = executor;
+     }
+
+     @Override
+     public String encode(CharSequence rawPassword) {
+          return executor.run("encode", () -> delegate.encode(rawPassword));
+     }
+
+     @Override
+     public boolean matches(CharSequence rawPassword, String encodedPassword) {
+          return executor.run("matches", () -> delegate.matches(rawPassword, encodedPassword));
+     }
+
+     @Override
+     public boolean upgradeEncoding(String encodedPassword) {
+          return delegate.upgradeEncoding(encodedPassword);
+     }
+
+     // hashing for bulk registration, waits for room in the pool instead of being rejected
+     public CompletableFuture<String> encodeInBatch(CharSequence rawPassword) {
+          return executor.submitBatch("bulk-encode", () -> delegate.encode(rawPassword));
+     }
+}
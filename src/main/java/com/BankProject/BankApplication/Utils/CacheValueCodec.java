@@ -0,0 +1,156 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.BankProject.BankApplication.DTOs.CachedAccount;
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+import com.BankProject.BankApplication.DTOs.CachedUser;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+
+import io.micrometer.core.instrument.DistributionSummary;
+
+/*
+ * Binary format of the cached snapshot records (CachedBalance, CachedAccount, CachedUser).
+ * A value is one tag byte followed by its fields in declaration order: longs as
+ * zig-zag varints, doubles as 8 bytes, strings and enum names as a varint length
+ * (0 for null) and UTF-8 bytes. Any other value falls back to JDK serialization
+ * behind the tag 0. Tags are never reused, a changed record gets a new tag.
+ * The size of every written value is recorded in the cache.entry.size summary.
+ */
+public class CacheValueCodec implements RedisSerializer<Object> {
+
+     private static final byte JDK = 0;
+     private static final byte BALANCE = 1;
+     private static final byte ACCOUNT = 2;
+     private static final byte USER = 3;
+
+     private final RedisSerializer<Object> fallback = new JdkSerializationRedisSerializer();
+
+     private final DistributionSummary entrySize;
+
+     // entrySize may be null when sizes are not reported
+     public CacheValueCodec(DistributionSummary entrySize) {
+          this.entrySize = entrySize;
+     }
+
+     @Override
+     public byte[] serialize(Object value) throws SerializationException {
+          if (value == null) {
+               return null;
+          }
+          ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+          try (DataOutputStream output = new DataOutputStream(bytes)) {
+               if (value instanceof CachedBalance balance) {
+                    output.writeByte(BALANCE);
+                    output.writeDouble(balance.balance());
+                    writeLong(output, balance.version());
+               } else if (value instanceof CachedAccount account) {
+                    output.writeByte(ACCOUNT);
+                    writeLong(output, account.accountNumber());
+                    output.writeDouble(account.balance());
+                    writeLong(output, account.version());
+                    writeString(output, account.accountType() != null ? account.accountType().name() : null);
+               } else if (value instanceof CachedUser user) {
+                    output.writeByte(USER);
+                    writeString(output, user.userId());
+                    writeString(output, user.fullName());
+                    writeString(output, user.email());
+                    writeString(output, user.role() != null ? user.role().name() : null);
+                    output.writeBoolean(user.enabled());
+                    output.writeBoolean(user.accountNumber() != null);
+                    if (user.accountNumber() != null) {
+                         writeLong(output, user.accountNumber());
+                    }
+               } else {
+                    output.writeByte(JDK);
+                    output.write(fallback.serialize(value));
+               }
+          } catch (IOException e) {
+               throw new SerializationException("Could not encode cached " + value.getClass().getSimpleName(), e);
+          }
+          byte[] encoded = bytes.toByteArray();
+          if (entrySize != null) {
+               entrySize.record(encoded.length);
+          }
+          return encoded;
+     }
+
+     @Override
+     public Object deserialize(byte[] bytes) throws SerializationException {
+          if (bytes == null || bytes.length == 0) {
+               return null;
+          }
+          try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+               byte tag = input.readByte();
+               return switch (tag) {
+                    case BALANCE -> new CachedBalance(input.readDouble(), readLong(input));
+                    case ACCOUNT -> new CachedAccount(readLong(input), input.readDouble(), readLong(input),
+                              readEnum(input, AccountType.class));
+                    case USER -> new CachedUser(readString(input), readString(input), readString(input),
+                              readEnum(input, Role.class), input.readBoolean(),
+                              input.readBoolean() ? readLong(input) : null);
+                    case JDK -> fallback.deserialize(input.readAllBytes());
+                    default -> throw new SerializationException("Unknown cached value tag " + tag);
+               };
+          } catch (IOException | IllegalArgumentException e) {
+               throw new SerializationException("Could not decode cached value", e);
+          }
+     }
+
+     private static void writeLong(DataOutputStream output, long value) throws IOException {
+          // zig-zag keeps small negative numbers short too
+          long zigZag = (value << 1) ^ (value >> 63);
+          while ((zigZag & ~0x7FL) != 0) {
+               output.writeByte((int) ((zigZag & 0x7F) | 0x80));
+               zigZag >>>= 7;
+          }
+          output.writeByte((int) zigZag);
+     }
+
+     private static long readLong(DataInputStream input) throws IOException {
+          long zigZag = 0;
+          for (int shift = 0; shift < 64; shift += 7) {
+               byte b = input.readByte();
+               zigZag |= (long) (b & 0x7F) << shift;
+               if ((b & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+               }
+          }
+          throw new SerializationException("Malformed varint in cached value");
+     }
+
+     private static void writeString(DataOutputStream output, String value) throws IOException {
+          if (value == null) {
+               writeLong(output, 0);
+               return;
+          }
+          byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+          writeLong(output, utf8.length + 1L);
+          output.write(utf8);
+     }
+
+     private static String readString(DataInputStream input) throws IOException {
+          int length = (int) readLong(input);
+          if (length == 0) {
+               return null;
+          }
+          byte[] utf8 = new byte[length - 1];
+          input.readFully(utf8);
+          return new String(utf8, StandardCharsets.UTF_8);
+     }
+
+     private static <E extends Enum<E>> E readEnum(DataInputStream input, Class<E> type) throws IOException {
+          String name = readString(input);
+          return name != null ? Enum.valueOf(type, name) : null;
+     }
+}
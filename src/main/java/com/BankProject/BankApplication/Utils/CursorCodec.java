@@ -0,0 +1,32 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Encodes keyset positions as opaque, url safe cursors handed out to clients
+public final class CursorCodec {
+
+     private static final String SEPARATOR = "|";
+
+     private CursorCodec() {
+     }
+
+     public static String encode(String... parts) {
+          return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+     }
+
+     // splits the cursor back into its parts, a cursor that was not issued by us is rejected
+     public static String[] decode(String cursor, int expectedParts) {
+          try {
+               String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+               String[] parts = decoded.split("\\|", -1);
+               if (parts.length == expectedParts) {
+                    return parts;
+               }
+          } catch (IllegalArgumentException e) {
+               // falls through to the invalid cursor error
+          }
+          throw new IllegalArgumentException("Invalid cursor");
+     }
+}
@@ -0,0 +1,145 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Cache that times every call to the cache behind it (a redis round trip in prod) in the
+// cache.operations timer, tagged with the cache, the operation and for reads hit or miss.
+// The counts of the timer are the hit, miss, put and evict counts.
+public class InstrumentedCache implements Cache {
+
+     private final Cache delegate;
+     private final Timer hits;
+     private final Timer misses;
+     private final Timer puts;
+     private final Timer evictions;
+     private final Timer clears;
+
+     public InstrumentedCache(Cache delegate, MeterRegistry meterRegistry) {
+          this.delegate = delegate;
+          this.hits = timer(meterRegistry, "get", "hit");
+          this.misses = timer(meterRegistry, "get", "miss");
+          this.puts = timer(meterRegistry, "put", "none");
+          this.evictions = timer(meterRegistry, "evict", "none");
+          this.clears = timer(meterRegistry, "clear", "none");
+     }
+
+     private Timer timer(MeterRegistry meterRegistry, String operation, String result) {
+          return Timer.builder("cache.operations")
+                    .description("Calls to the cache and their latency")
+                    .tag("cache", delegate.getName())
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+     }
+
+     @Override
+     public String getName() {
+          return delegate.getName();
+     }
+
+     @Override
+     public Object getNativeCache() {
+          return delegate.getNativeCache();
+     }
+
+     @Override
+     public ValueWrapper get(Object key) {
+          long start = System.nanoTime();
+          ValueWrapper value = delegate.get(key);
+          record(value != null ? hits : misses, start);
+          return value;
+     }
+
+     @Override
+     public <T> T get(Object key, Class<T> type) {
+          long start = System.nanoTime();
+          T value = delegate.get(key, type);
+          record(value != null ? hits : misses, start);
+          return value;
+     }
+
+     // the time of a miss includes the loader
+     @Override
+     public <T> T get(Object key, Callable<T> valueLoader) {
+          long start = System.nanoTime();
+          boolean[] loaded = new boolean[1];
+          T value = delegate.get(key, () -> {
+               loaded[0] = true;
+               return valueLoader.call();
+          });
+          record(loaded[0] ? misses : hits, start);
+          return value;
+     }
+
+     // async reads are passed through untimed, nothing here uses them
+     @Override
+     public CompletableFuture<?> retrieve(Object key) {
+          return delegate.retrieve(key);
+     }
+
+     @Override
+     public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+          return delegate.retrieve(key, valueLoader);
+     }
+
+     @Override
+     public void put(Object key, Object value) {
+          long start = System.nanoTime();
+          delegate.put(key, value);
+          record(puts, start);
+     }
+
+     @Override
+     public ValueWrapper putIfAbsent(Object key, Object value) {
+          long start = System.nanoTime();
+          ValueWrapper existing = delegate.putIfAbsent(key, value);
+          record(puts, start);
+          return existing;
+     }
+
+     @Override
+     public void evict(Object key) {
+          long start = System.nanoTime();
+          delegate.evict(key);
+          record(evictions, start);
+     }
+
+     @Override
+     public boolean evictIfPresent(Object key) {
+          long start = System.nanoTime();
+          boolean evicted = delegate.evictIfPresent(key);
+          record(evictions, start);
+          return evicted;
+     }
+
+     @Override
+     public void clear() {
+          long start = System.nanoTime();
+          delegate.clear();
+          record(clears, start);
+     }
+
+     @Override
+     public boolean invalidate() {
+          long start = System.nanoTime();
+          boolean invalidated = delegate.invalidate();
+          record(clears, start);
+          return invalidated;
+     }
+
+     // also adds the time to the service operation waiting for the cache
+     private static void record(Timer timer, long start) {
+          long elapsed = System.nanoTime() - start;
+          timer.record(elapsed, TimeUnit.NANOSECONDS);
+          OperationTimings.addCache(elapsed);
+     }
+}
@@ -0,0 +1,40 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Hands out the caches of the wrapped manager as InstrumentedCache, one per cache name
+public class InstrumentedCacheManager implements CacheManager {
+
+     private final CacheManager delegate;
+     private final MeterRegistry meterRegistry;
+     private final ConcurrentHashMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+     public InstrumentedCacheManager(CacheManager delegate, MeterRegistry meterRegistry) {
+          this.delegate = delegate;
+          this.meterRegistry = meterRegistry;
+     }
+
+     @Override
+     public Cache getCache(String name) {
+          Cache cache = caches.get(name);
+          if (cache != null) {
+               return cache;
+          }
+          Cache target = delegate.getCache(name);
+          if (target == null) {
+               return null;
+          }
+          return caches.computeIfAbsent(name, key -> new InstrumentedCache(target, meterRegistry));
+     }
+
+     @Override
+     public Collection<String> getCacheNames() {
+          return delegate.getCacheNames();
+     }
+}
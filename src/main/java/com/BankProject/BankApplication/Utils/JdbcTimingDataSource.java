@@ -0,0 +1,81 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Adds the time of statement executions (and their count), commits and rollbacks to the OperationTimings of the
+// calling thread, for Hibernate and JdbcTemplate alike. Other calls go straight to the pool's objects.
+public class JdbcTimingDataSource extends DelegatingDataSource {
+
+     public JdbcTimingDataSource(DataSource targetDataSource) {
+          super(targetDataSource);
+     }
+
+     @Override
+     public Connection getConnection() throws SQLException {
+          return timed(Connection.class, obtainTargetDataSource().getConnection());
+     }
+
+     @Override
+     public Connection getConnection(String username, String password) throws SQLException {
+          return timed(Connection.class, obtainTargetDataSource().getConnection(username, password));
+     }
+
+     @SuppressWarnings("unchecked")
+     private static <T> T timed(Class<T> type, T target) {
+          return (T) Proxy.newProxyInstance(JdbcTimingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                    new TimingHandler(target));
+     }
+
+     private record TimingHandler(Object target) implements InvocationHandler {
+
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+               String name = method.getName();
+               // proxies are compared by identity, the pool's objects never see them
+               if (name.equals("equals")) {
+                    return proxy == args[0];
+               }
+               if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+               }
+               boolean execution = name.startsWith("execute");
+               boolean timed = execution || name.equals("commit") || name.equals("rollback");
+               long start = timed ? System.nanoTime() : 0;
+               Object result;
+               try {
+                    result = method.invoke(target, args);
+               } catch (InvocationTargetException e) {
+                    throw e.getCause();
+               } finally {
+                    if (execution) {
+                         OperationTimings.addStatement(System.nanoTime() - start);
+                    } else if (timed) {
+                         OperationTimings.addJdbc(System.nanoTime() - start);
+                    }
+               }
+               // statements handed out by the connection are timed too
+               if (result instanceof CallableStatement statement && method.getReturnType() == CallableStatement.class) {
+                    return timed(CallableStatement.class, statement);
+               }
+               if (result instanceof PreparedStatement statement && method.getReturnType() == PreparedStatement.class) {
+                    return timed(PreparedStatement.class, statement);
+               }
+               if (result instanceof Statement statement && method.getReturnType() == Statement.class) {
+                    return timed(Statement.class, statement);
+               }
+               return result;
+          }
+     }
+}
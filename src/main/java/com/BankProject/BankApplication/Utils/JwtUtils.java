@@ -1,12 +1,16 @@
 package com.BankProject.BankApplication.Utils;
 
 import java.util.Date;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.Role;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -18,9 +22,14 @@ public class JwtUtils {
      private final SecretKey secretKey = Keys.hmacShaKeyFor(SECRET.getBytes());
      private final long EXPIRATION_TIME = 1000 * 60 * 60;
 
+     private static final String ROLE = "role";
+     private static final String ACCOUNT_NUMBER = "accountNumber";
+     private static final String USER_ID = "userId";
+
      // Generates the jwt token
      public String generateToken(String username) {
           return Jwts.builder()
+                    .setId(UUID.randomUUID().toString())
                     .setSubject(username)
                     .setIssuedAt(new Date(System.currentTimeMillis()))
                     .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
@@ -28,6 +37,42 @@ public class JwtUtils {
                     .compact();
      }
 
+     // Generates the jwt token carrying the role and account number as signed claims,
+     // so requests can be authenticated without loading the user
+     public String generateToken(User user) {
+          return Jwts.builder()
+                    // token id, lets a single token be revoked at logout
+                    .setId(UUID.randomUUID().toString())
+                    .setSubject(user.getEmail())
+                    .claim(ROLE, user.getRole().name())
+                    .claim(USER_ID, user.getUserId())
+                    // admins have no account
+                    .claim(ACCOUNT_NUMBER, user.getAccount() != null ? user.getAccount().getAccountNumber() : null)
+                    .setIssuedAt(new Date(System.currentTimeMillis()))
+                    .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                    .signWith(secretKey, SignatureAlgorithm.HS256)
+                    .compact();
+     }
+
+     // Verifies the token once and reads the principal from its claims,
+     // null for tokens issued without the role claim
+     // throws JwtException when the token is invalid or expired
+     public TokenPrincipal parsePrincipal(String token) {
+          Claims claims = extractClaims(token);
+          String role = claims.get(ROLE, String.class);
+          if (role == null) {
+               return null;
+          }
+          Number accountNumber = claims.get(ACCOUNT_NUMBER, Number.class);
+          return new TokenPrincipal(
+                    claims.getSubject(),
+                    claims.get(USER_ID, String.class),
+                    Role.valueOf(role),
+                    accountNumber != null ? accountNumber.longValue() : null,
+                    claims.getId(),
+                    claims.getExpiration().toInstant());
+     }
+
      // Exracting claims from the token
      public Claims extractClaims(String token) {
           return Jwts.parserBuilder()
@@ -48,6 +93,11 @@ public class JwtUtils {
 
      }
 
+     // same check on already parsed claims, without verifying the signature again
+     public boolean validateToken(Claims claims, UserDetails userDetails) {
+          return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
+     }
+
      // is token expired
      public boolean isTokenExpired(String token) {
           return extractClaims(token).getExpiration().before(new Date());
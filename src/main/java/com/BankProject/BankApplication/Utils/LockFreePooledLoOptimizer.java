@@ -0,0 +1,84 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+
+/*
+ * Pooled-lo optimizer without locks, registered through
+ * hibernate.id.optimizer.pooled.preferred for the sequence based ids (account numbers).
+ * Every sequence call reserves the block [value, value + incrementSize) for this node,
+ * numbers are then handed out from memory with getAndIncrement. Blocks of different
+ * nodes never overlap because they come from the same database sequence.
+ * Gaps are expected: the unused rest of a block is lost on restart, and when two
+ * threads reserve a block at the same time only one of them is kept for later use.
+ */
+public class LockFreePooledLoOptimizer implements Optimizer {
+
+     private final Class<?> returnClass;
+     private final int incrementSize;
+
+     private final AtomicReference<Block> current = new AtomicReference<>();
+     private volatile IntegralDataTypeHolder lastSourceValue;
+
+     // signature required by Hibernate's OptimizerFactory
+     public LockFreePooledLoOptimizer(Class<?> returnClass, int incrementSize) {
+          if (incrementSize < 1) {
+               throw new IllegalArgumentException("Increment size must be positive");
+          }
+          this.returnClass = returnClass;
+          this.incrementSize = incrementSize;
+     }
+
+     @Override
+     public Serializable generate(AccessCallback callback) {
+          Block block = current.get();
+          if (block != null) {
+               long value = block.next.getAndIncrement();
+               if (value < block.end) {
+                    return toIdentifier(value);
+               }
+          }
+          // block used up: reserve the next one from the sequence
+          IntegralDataTypeHolder sourceValue = callback.getNextValue();
+          lastSourceValue = sourceValue;
+          long low = sourceValue.makeValue().longValue();
+          current.compareAndSet(block, new Block(low + 1, low + incrementSize));
+          return toIdentifier(low);
+     }
+
+     private Serializable toIdentifier(long value) {
+          return IdentifierGeneratorHelper.getIntegralDataTypeHolder(returnClass).initialize(value).makeValue();
+     }
+
+     @Override
+     public IntegralDataTypeHolder getLastSourceValue() {
+          return lastSourceValue;
+     }
+
+     @Override
+     public int getIncrementSize() {
+          return incrementSize;
+     }
+
+     @Override
+     public boolean applyIncrementSizeToSourceValues() {
+          return true;
+     }
+
+     // numbers still available on this node, end is exclusive
+     private static final class Block {
+          private final AtomicLong next;
+          private final long end;
+
+          Block(long next, long end) {
+               this.next = new AtomicLong(next);
+               this.end = end;
+          }
+     }
+}
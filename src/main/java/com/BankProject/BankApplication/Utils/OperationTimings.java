@@ -0,0 +1,123 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Time a service operation (or a whole request, see ServerTimingFilter) spends in JDBC calls,
+// cache calls and jwt authentication.
+// Held in a thread local of the thread running the operation and handed to the threads that
+// work for it (see propagate), so the account command threads add to the caller's operation.
+public final class OperationTimings {
+
+     private static final ThreadLocal<OperationTimings> CURRENT = new ThreadLocal<>();
+
+     private final AtomicLong jdbcNanos = new AtomicLong();
+     private final AtomicLong cacheNanos = new AtomicLong();
+     private final AtomicLong statements = new AtomicLong();
+     private final AtomicLong cacheCalls = new AtomicLong();
+     private final AtomicLong jwtNanos = new AtomicLong();
+     private final AtomicLong userLookupNanos = new AtomicLong();
+
+     private OperationTimings() {
+     }
+
+     // timings of the operation running on this thread, null outside of one
+     public static OperationTimings current() {
+          return CURRENT.get();
+     }
+
+     public static OperationTimings start() {
+          OperationTimings timings = new OperationTimings();
+          CURRENT.set(timings);
+          return timings;
+     }
+
+     public static void clear() {
+          CURRENT.remove();
+     }
+
+     public static void addJdbc(long nanos) {
+          OperationTimings timings = CURRENT.get();
+          if (timings != null) {
+               timings.jdbcNanos.addAndGet(nanos);
+          }
+     }
+
+     // an executed statement (or batch), counted on top of its time
+     public static void addStatement(long nanos) {
+          OperationTimings timings = CURRENT.get();
+          if (timings != null) {
+               timings.jdbcNanos.addAndGet(nanos);
+               timings.statements.incrementAndGet();
+          }
+     }
+
+     public static void addCache(long nanos) {
+          OperationTimings timings = CURRENT.get();
+          if (timings != null) {
+               timings.cacheNanos.addAndGet(nanos);
+               timings.cacheCalls.incrementAndGet();
+          }
+     }
+
+     // parsing and signature check of a jwt token
+     public static void addJwt(long nanos) {
+          OperationTimings timings = CURRENT.get();
+          if (timings != null) {
+               timings.jwtNanos.addAndGet(nanos);
+          }
+     }
+
+     // loading the user of a jwt token, its statements are in the JDBC time as well
+     public static void addUserLookup(long nanos) {
+          OperationTimings timings = CURRENT.get();
+          if (timings != null) {
+               timings.userLookupNanos.addAndGet(nanos);
+          }
+     }
+
+     // work for another thread that adds its time to the operation of the calling thread
+     public static <T> Supplier<T> propagate(Supplier<T> work) {
+          OperationTimings timings = CURRENT.get();
+          if (timings == null) {
+               return work;
+          }
+          return () -> {
+               OperationTimings previous = CURRENT.get();
+               CURRENT.set(timings);
+               try {
+                    return work.get();
+               } finally {
+                    if (previous == null) {
+                         CURRENT.remove();
+                    } else {
+                         CURRENT.set(previous);
+                    }
+               }
+          };
+     }
+
+     public long jdbcNanos() {
+          return jdbcNanos.get();
+     }
+
+     public long cacheNanos() {
+          return cacheNanos.get();
+     }
+
+     public long statements() {
+          return statements.get();
+     }
+
+     public long cacheCalls() {
+          return cacheCalls.get();
+     }
+
+     public long jwtNanos() {
+          return jwtNanos.get();
+     }
+
+     public long userLookupNanos() {
+          return userLookupNanos.get();
+     }
+}
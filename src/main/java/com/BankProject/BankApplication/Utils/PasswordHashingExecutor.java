@@ -0,0 +1,118 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.BankProject.BankApplication.Exceptions.TooManyRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/*
+ * Runs password hashing (BCrypt) on its own pool of CPU sized threads, so a login storm
+ * can use at most these threads and never every request thread.
+ * The queue is bounded: when it is full a request is rejected at once with a 429 instead
+ * of waiting. Bulk work goes through submitBatch, which waits for room instead and may
+ * only hold a part of the pool so interactive logins still get through. Hashing never
+ * falls back to the calling thread.
+ * Metrics: password.hashing (time spent hashing) and password.hashing.wait (time spent
+ * queued), tagged by operation, plus the executor metrics of the pool.
+ */
+public class PasswordHashingExecutor {
+
+     // pause before bulk work tries a queue filled by interactive requests again
+     private static final long BATCH_RETRY_MILLIS = 10;
+
+     private final ThreadPoolExecutor executor;
+     private final Semaphore batchPermits;
+     private final MeterRegistry meterRegistry;
+
+     public PasswordHashingExecutor(int threads, int queueCapacity, MeterRegistry meterRegistry) {
+          AtomicInteger threadNumber = new AtomicInteger();
+          this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                         Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                         thread.setDaemon(true);
+                         return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+          // bulk work may occupy half of the queue at most
+          this.batchPermits = new Semaphore(Math.max(1, queueCapacity / 2));
+          this.meterRegistry = meterRegistry;
+          ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+     }
+
+     // runs the hashing and waits for it, rejected with TooManyRequestsException when the queue is full
+     public <T> T run(String operation, Supplier<T> task) {
+          CompletableFuture<T> result;
+          try {
+               result = CompletableFuture.supplyAsync(timed(operation, task), executor);
+          } catch (RejectedExecutionException e) {
+               meterRegistry.counter("password.hashing.rejected", "operation", operation).increment();
+               throw new TooManyRequestsException("Too many login requests, please try again in a moment");
+          }
+          try {
+               return result.join();
+          } catch (CompletionException e) {
+               if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+               }
+               throw e;
+          }
+     }
+
+     // for bulk work, blocks the caller until there is room instead of rejecting
+     public <T> CompletableFuture<T> submitBatch(String operation, Supplier<T> task) {
+          try {
+               batchPermits.acquire();
+          } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               return CompletableFuture.failedFuture(e);
+          }
+          Supplier<T> timedTask = timed(operation, task);
+          while (true) {
+               try {
+                    CompletableFuture<T> result = CompletableFuture.supplyAsync(timedTask, executor);
+                    result.whenComplete((value, error) -> batchPermits.release());
+                    return result;
+               } catch (RejectedExecutionException e) {
+                    if (executor.isShutdown()) {
+                         batchPermits.release();
+                         return CompletableFuture.failedFuture(e);
+                    }
+                    // the queue was filled by interactive requests meanwhile, wait until the pool drains
+                    meterRegistry.counter("password.hashing.batch.retried", "operation", operation).increment();
+               }
+               try {
+                    Thread.sleep(BATCH_RETRY_MILLIS);
+               } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    batchPermits.release();
+                    return CompletableFuture.failedFuture(e);
+               }
+          }
+     }
+
+     public void shutdown() {
+          executor.shutdown();
+     }
+
+     private <T> Supplier<T> timed(String operation, Supplier<T> task) {
+          long queuedAt = System.nanoTime();
+          Timer waitTimer = meterRegistry.timer("password.hashing.wait", "operation", operation);
+          Timer hashTimer = meterRegistry.timer("password.hashing", "operation", operation);
+          return () -> {
+               waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+               return hashTimer.record(task);
+          };
+     }
+}
@@ -0,0 +1,28 @@
+package com.BankProject.BankApplication.Utils;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.BankProject.BankApplication.Entity.User;
+
+// Reads what the authenticated principal already knows, so services can skip the user lookup
+public final class SecurityUtils {
+
+     private SecurityUtils() {
+     }
+
+     // account number of the logged in user or null when the principal does not carry it
+     public static Long currentAccountNumber() {
+          Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+          Object principal = authentication != null ? authentication.getPrincipal() : null;
+          if (principal instanceof TokenPrincipal tokenPrincipal) {
+               return tokenPrincipal.accountNumber();
+          }
+          if (principal instanceof CustomUserDetails userDetails) {
+               User user = userDetails.getUser();
+               // the id of the lazy account is known without loading it
+               return user.getAccount() != null ? user.getAccount().getAccountNumber() : null;
+          }
+          return null;
+     }
+}
@@ -0,0 +1,23 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.util.EnumSet;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+// Hibernate id generator behind @TimeOrderedId
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+
+     @Override
+     public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+               EventType eventType) {
+          return UuidV7.next().toString();
+     }
+
+     @Override
+     public EnumSet<EventType> getEventTypes() {
+          return EventTypeSets.INSERT_ONLY;
+     }
+}
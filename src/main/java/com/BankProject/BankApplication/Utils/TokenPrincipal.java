@@ -0,0 +1,32 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.BankProject.BankApplication.Enum.Role;
+
+// The logged in user as described by the signed claims of the jwt token,
+// used instead of loading the user from the DB on every request
+public record TokenPrincipal(String email, String userId, Role role, Long accountNumber, String tokenId,
+          Instant expiresAt)
+          implements AuthenticatedPrincipal, Serializable {
+
+     @Override
+     public String getName() {
+          return email;
+     }
+
+     public Collection<? extends GrantedAuthority> getAuthorities() {
+          return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+     }
+
+     public boolean isExpired() {
+          return !expiresAt.isAfter(Instant.now());
+     }
+}
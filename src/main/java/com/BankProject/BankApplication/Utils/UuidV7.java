@@ -0,0 +1,40 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Time ordered UUIDs (RFC 9562 version 7): 48 bit unix milliseconds, a 12 bit counter
+ * for ids created within the same millisecond and 62 random bits.
+ * Ids only ever increase within a JVM, so new rows are appended at the end of the
+ * primary key index instead of being scattered across it like random UUIDs.
+ * The timestamp and counter are advanced with a CAS loop, no locking.
+ */
+public final class UuidV7 {
+
+     private static final int COUNTER_BITS = 12;
+
+     // (unix millis << 12) | counter of the last id handed out
+     private static final AtomicLong LAST = new AtomicLong();
+
+     private UuidV7() {
+     }
+
+     public static UUID next() {
+          long nowTicks = System.currentTimeMillis() << COUNTER_BITS;
+          long ticks;
+          long previous;
+          do {
+               previous = LAST.get();
+               // a counter overflow borrows the next millisecond, which keeps the ids increasing
+               ticks = Math.max(previous + 1, nowTicks);
+          } while (!LAST.compareAndSet(previous, ticks));
+
+          long millis = ticks >>> COUNTER_BITS;
+          long counter = ticks & ((1L << COUNTER_BITS) - 1);
+          long mostSignificant = (millis << 16) | (0x7L << 12) | counter;
+          long leastSignificant = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+          return new UUID(mostSignificant, leastSignificant);
+     }
+}
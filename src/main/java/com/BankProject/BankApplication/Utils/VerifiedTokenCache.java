@@ -0,0 +1,51 @@
+package com.BankProject.BankApplication.Utils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import jakarta.annotation.PostConstruct;
+
+// Tokens whose signature was already verified, a repeated token skips the HMAC check.
+// Entries live for a short time and never longer than the token itself.
+@Component
+public class VerifiedTokenCache {
+
+     @Value("${app.jwt.cache.max-size:10000}")
+     private long maxSize;
+
+     @Value("${app.jwt.cache.ttl:PT1M}")
+     private Duration ttl;
+
+     private Cache<String, TokenPrincipal> tokens;
+
+     @PostConstruct
+     void init() {
+          tokens = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfter(Expiry.<String, TokenPrincipal>creating((token, principal) -> {
+                         Duration remaining = Duration.between(Instant.now(), principal.expiresAt());
+                         return remaining.compareTo(ttl) < 0 ? remaining : ttl;
+                    }))
+                    .build();
+     }
+
+     public TokenPrincipal get(String token) {
+          TokenPrincipal principal = tokens.getIfPresent(token);
+          return principal != null && !principal.isExpired() ? principal : null;
+     }
+
+     public void put(String token, TokenPrincipal principal) {
+          tokens.put(token, principal);
+     }
+
+     public void evict(String token) {
+          tokens.invalidate(token);
+     }
+}
@@ -0,0 +1,46 @@
+package com.BankProject.BankApplication.Filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+// anonymous requests through the proxy (a local address) are limited per forwarded client, not per proxy
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+          "server.forward-headers-strategy=native",
+          "app.rate-limit.auth.requests-per-second=0.01",
+          "app.rate-limit.auth.burst=1" })
+@ActiveProfiles("test")
+class ForwardedClientRateLimitTests {
+
+     private final HttpClient client = HttpClient.newHttpClient();
+
+     @LocalServerPort
+     private int port;
+
+     @Test
+     void clientsBehindTheProxyHaveTheirOwnBuckets() throws Exception {
+          assertNotEquals(429, statusFor("203.0.113.10"));
+          assertEquals(429, statusFor("203.0.113.10"));
+          // another client behind the same proxy is not locked out
+          assertNotEquals(429, statusFor("203.0.113.20"));
+     }
+
+     // permitted but unmapped path of the auth group, it only matters whether the rate limit answers
+     private int statusFor(String clientIp) throws Exception {
+          HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/ping"))
+                    .header("X-Forwarded-For", clientIp)
+                    .GET()
+                    .build();
+          return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+     }
+}
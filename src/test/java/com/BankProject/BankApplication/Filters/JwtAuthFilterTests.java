@@ -0,0 +1,92 @@
+package com.BankProject.BankApplication.Filters;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Repository.UserRepository;
+import com.BankProject.BankApplication.Utils.JwtUtils;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthFilterTests {
+
+     @Autowired
+     private MockMvc mockMvc;
+
+     @Autowired
+     private JwtUtils jwtUtils;
+
+     @Autowired
+     private UserRepository userRepository;
+
+     @Test
+     void tokenClaimsAuthenticateTheRequest() throws Exception {
+          String token = jwtUtils.generateToken(createCustomer("claims@securebank.test", 25));
+          // the second request is served from the verified token cache
+          for (int i = 0; i < 2; i++) {
+               mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + token))
+                         .andExpect(status().isOk())
+                         .andExpect(content().string("25.0"));
+          }
+     }
+
+     @Test
+     void tokensWithoutClaimsStillAuthenticateThroughTheDatabase() throws Exception {
+          String token = jwtUtils.generateToken(createCustomer("legacy@securebank.test", 5).getEmail());
+          mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("5.0"));
+     }
+
+     @Test
+     void loggedOutTokenIsRejected() throws Exception {
+          String token = jwtUtils.generateToken(createCustomer("logout@securebank.test", 1));
+          String other = jwtUtils.generateToken(userRepository.findUserByEmailIgnoreCase("logout@securebank.test").get());
+          mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+          mockMvc.perform(post("/logout").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+          mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isForbidden());
+          // other sessions of the same user stay valid
+          mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + other))
+                    .andExpect(status().isOk());
+     }
+
+     @Test
+     void tamperedTokenIsRejected() throws Exception {
+          String token = jwtUtils.generateToken(createCustomer("tampered@securebank.test", 0));
+          String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+          mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + tampered))
+                    .andExpect(status().isForbidden());
+     }
+
+     private User createCustomer(String email, double balance) {
+          User user = new User();
+          user.setFullName("Test " + email);
+          user.setEmail(email);
+          user.setPassword("{noop}password");
+          user.setRole(Role.USER);
+          user.setIsEnabled(true);
+          Account account = new Account();
+          account.setBalance(balance);
+          account.setAccountType(AccountType.SAVINGS);
+          account.setUser(user);
+          user.setAccount(account);
+          return userRepository.save(user);
+     }
+}
@@ -0,0 +1,71 @@
+package com.BankProject.BankApplication.Filters;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Repository.UserRepository;
+import com.BankProject.BankApplication.Utils.JwtUtils;
+
+// one token every 100 seconds, so the bucket does not refill during the test
+@SpringBootTest(properties = { "app.rate-limit.reads.requests-per-second=0.01", "app.rate-limit.reads.burst=2" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterTests {
+
+     @Autowired
+     private MockMvc mockMvc;
+
+     @Autowired
+     private JwtUtils jwtUtils;
+
+     @Autowired
+     private UserRepository userRepository;
+
+     @Test
+     void requestsOverTheBurstAreRejectedPerPrincipal() throws Exception {
+          String token = jwtUtils.generateToken(createCustomer("limited@securebank.test"));
+          String other = jwtUtils.generateToken(createCustomer("unlimited@securebank.test"));
+          for (int i = 0; i < 2; i++) {
+               mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + token))
+                         .andExpect(status().isOk());
+          }
+          mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "100"));
+
+          // other users have their own bucket, shared by all endpoints of the reads group
+          mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + other))
+                    .andExpect(status().isOk());
+          mockMvc.perform(get("/transactions/history").header("Authorization", "Bearer " + other))
+                    .andExpect(status().isOk());
+          mockMvc.perform(get("/transactions/history").header("Authorization", "Bearer " + other))
+                    .andExpect(status().isTooManyRequests());
+     }
+
+     private User createCustomer(String email) {
+          User user = new User();
+          user.setFullName("Test " + email);
+          user.setEmail(email);
+          user.setPassword("{noop}password");
+          user.setRole(Role.USER);
+          user.setIsEnabled(true);
+          Account account = new Account();
+          account.setBalance(1);
+          account.setAccountType(AccountType.SAVINGS);
+          account.setUser(user);
+          user.setAccount(account);
+          return userRepository.save(user);
+     }
+}
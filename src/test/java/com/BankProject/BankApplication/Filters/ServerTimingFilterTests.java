@@ -0,0 +1,70 @@
+package com.BankProject.BankApplication.Filters;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Repository.UserRepository;
+import com.BankProject.BankApplication.Utils.JwtUtils;
+
+@SpringBootTest(properties = "app.server-timing.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServerTimingFilterTests {
+
+     private static final Pattern DB_STATEMENTS = Pattern.compile("db;desc=\"(\\d+) statements\";dur=[0-9.]+");
+
+     @Autowired
+     private MockMvc mockMvc;
+
+     @Autowired
+     private JwtUtils jwtUtils;
+
+     @Autowired
+     private UserRepository userRepository;
+
+     @Test
+     void responseCarriesTheTimingOfAuthenticationAndStatements() throws Exception {
+          // a token without claims is authenticated through the database
+          String token = jwtUtils.generateToken(createCustomer("server.timing@securebank.test").getEmail());
+          String header = mockMvc.perform(get("/user/balance").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("Server-Timing");
+
+          assertTrue(header.startsWith("jwt;dur="), header);
+          assertTrue(header.contains(", user;dur="), header);
+          assertTrue(header.contains(", cache;desc=\""), header);
+          assertTrue(header.contains(", total;dur="), header);
+          Matcher db = DB_STATEMENTS.matcher(header);
+          assertTrue(db.find() && Long.parseLong(db.group(1)) > 0, header);
+     }
+
+     private User createCustomer(String email) {
+          User user = new User();
+          user.setFullName("Test " + email);
+          user.setEmail(email);
+          user.setPassword("{noop}password");
+          user.setRole(Role.USER);
+          user.setIsEnabled(true);
+          Account account = new Account();
+          account.setBalance(1);
+          account.setAccountType(AccountType.SAVINGS);
+          account.setUser(user);
+          user.setAccount(account);
+          return userRepository.save(user);
+     }
+}
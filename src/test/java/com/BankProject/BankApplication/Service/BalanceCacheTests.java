@@ -0,0 +1,60 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceCacheTests {
+
+     @Autowired
+     private BalanceCache balanceCache;
+
+     @Autowired
+     private CacheManager cacheManager;
+
+     @Test
+     void balanceIsLoadedOnceAndThenServedFromCache() {
+          AtomicInteger loads = new AtomicInteger();
+          assertEquals(10.0, balanceCache.get(1L, () -> {
+               loads.incrementAndGet();
+               return new CachedBalance(10.0, 1);
+          }));
+          assertEquals(10.0, balanceCache.get(1L, () -> {
+               loads.incrementAndGet();
+               return new CachedBalance(99.0, 1);
+          }));
+          assertEquals(1, loads.get());
+     }
+
+     @Test
+     void olderBalanceNeverReplacesNewerOne() {
+          balanceCache.update(2L, 50.0, 5);
+          // a change committed on this node before the cached one
+          balanceCache.update(2L, 40.0, 4);
+          assertEquals(50.0, balanceCache.get(2L, () -> new CachedBalance(0.0, 0)));
+          // nodes without a local copy read the shared entry
+          assertEquals(5, cacheManager.getCache("balances").get(2L, CachedBalance.class).version());
+          balanceCache.evict(2L);
+          assertEquals(60.0, balanceCache.get(2L, () -> new CachedBalance(60.0, 6)));
+     }
+
+     @Test
+     void slowReadDoesNotOverwriteBalanceCommittedMeanwhile() {
+          // the change commits while the old balance is being read from the DB
+          assertEquals(70.0, balanceCache.get(3L, () -> {
+               balanceCache.update(3L, 70.0, 7);
+               return new CachedBalance(60.0, 6);
+          }));
+          assertEquals(7, cacheManager.getCache("balances").get(3L, CachedBalance.class).version());
+     }
+}
@@ -0,0 +1,80 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.BankProject.BankApplication.DTOs.BulkRegistrationResult;
+import com.BankProject.BankApplication.DTOs.BulkRegistrationResult.Status;
+import com.BankProject.BankApplication.Repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "app.bulk-registration.chunk-size=2")
+@ActiveProfiles("test")
+class BulkRegistrationServiceTests {
+
+     @Autowired
+     private BulkRegistrationService bulkRegistrationService;
+
+     @Autowired
+     private UserRepository userRepository;
+
+     @Autowired
+     private ObjectMapper objectMapper;
+
+     @Test
+     void csvRowsAreCreatedOrRejectedOneByOne() throws Exception {
+          String csv = """
+                    fullName,email,password,role,balance,accountType
+                    Bulk One,bulk.one@securebank.test,secret1,USER,100,SAVINGS
+                    "Two, Bulk",bulk.two@securebank.test,secret2,,50,
+                    Bulk Again,BULK.ONE@securebank.test,secret3,USER,0,SAVINGS
+                    Bulk Admin,bulk.admin@securebank.test,secret4,ADMIN,0,SAVINGS
+                    Bulk Short,bulk.short@securebank.test,123,USER,0,SAVINGS
+                    """;
+          List<BulkRegistrationResult> results = register(csv, BulkRegistrationService.CSV);
+
+          assertEquals(List.of(Status.CREATED, Status.CREATED, Status.DUPLICATE, Status.INVALID, Status.INVALID),
+                    results.stream().map(BulkRegistrationResult::getStatus).toList());
+          assertTrue(results.get(0).getAccountNumber() != null);
+          assertEquals("Two, Bulk", userRepository.findUserByEmailIgnoreCase("bulk.two@securebank.test").get().getFullName());
+          assertEquals(false, userRepository.findUserByEmailIgnoreCase("bulk.one@securebank.test").get().getIsEnabled());
+     }
+
+     @Test
+     void ndjsonRowsAlreadyRegisteredAreReportedAsDuplicates() throws Exception {
+          String ndjson = """
+                    {"fullName":"Json One","email":"json.one@securebank.test","password":"secret1","balance":10}
+                    {"fullName":"Json One","email":"json.one@securebank.test","password":"secret1","balance":10}
+                    not json
+                    """;
+          List<BulkRegistrationResult> results = register(ndjson, "application/x-ndjson");
+
+          assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.INVALID),
+                    results.stream().map(BulkRegistrationResult::getStatus).toList());
+          assertEquals(List.of(Status.DUPLICATE),
+                    register(ndjson.lines().findFirst().get(), "application/x-ndjson").stream()
+                              .map(BulkRegistrationResult::getStatus).toList());
+     }
+
+     private List<BulkRegistrationResult> register(String body, String contentType) throws Exception {
+          ByteArrayOutputStream output = new ByteArrayOutputStream();
+          bulkRegistrationService.register(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                    contentType, false, output);
+          List<BulkRegistrationResult> results = new ArrayList<>();
+          for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+               results.add(objectMapper.readValue(line, BulkRegistrationResult.class));
+          }
+          return results;
+     }
+}
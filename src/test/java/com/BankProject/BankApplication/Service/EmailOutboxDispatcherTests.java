@@ -0,0 +1,96 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
+import com.BankProject.BankApplication.Entity.EmailOutbox;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.EmailStatus;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+// the test profile points spring.mail at localhost:3025, where GreenMail listens
+@SpringBootTest(properties = "app.mail.outbox.poll-interval=PT1H")
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTests {
+
+     @RegisterExtension
+     static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+     @Autowired
+     private UserService userService;
+
+     @Autowired
+     private EmailService emailService;
+
+     @Autowired
+     private EmailOutboxDispatcher emailOutboxDispatcher;
+
+     @Autowired
+     private EmailOutboxRepository emailOutboxRepository;
+
+     @Autowired
+     private PlatformTransactionManager transactionManager;
+
+     @BeforeEach
+     void clearOutbox() {
+          emailOutboxRepository.deleteAll();
+     }
+
+     @Test
+     void registrationQueuesEmailThatIsDeliveredInABatch() throws Exception {
+          userService.registerUser(new UserAccountTemplate("Outbox One", "outbox.one@securebank.test", "secret1",
+                    Role.USER, 0, AccountType.SAVINGS));
+          userService.registerUser(new UserAccountTemplate("Outbox Two", "outbox.two@securebank.test", "secret2",
+                    Role.USER, 0, AccountType.SAVINGS));
+          // nothing is sent while registering
+          assertEquals(0, greenMail.getReceivedMessages().length);
+          assertEquals(2, emailOutboxRepository.countByStatus(EmailStatus.PENDING));
+
+          assertEquals(2, emailOutboxDispatcher.drain());
+          assertEquals(2, greenMail.getReceivedMessages().length);
+          assertEquals("Verify your account", greenMail.getReceivedMessages()[0].getSubject());
+          assertEquals(2, emailOutboxRepository.countByStatus(EmailStatus.SENT));
+          // nothing left to send
+          assertEquals(0, emailOutboxDispatcher.drain());
+     }
+
+     @Test
+     void rolledBackRegistrationSendsNoEmail() {
+          TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+          assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+               emailService.queueVerificationEmail("rollback@securebank.test", "token");
+               throw new IllegalStateException("registration failed");
+          }));
+          assertEquals(0, emailOutboxRepository.count());
+     }
+
+     @Test
+     void failedDeliveryIsRetriedLater() {
+          emailService.queueVerificationEmail("retry@securebank.test", "token");
+          greenMail.stop();
+
+          assertEquals(0, emailOutboxDispatcher.drain());
+          EmailOutbox email = emailOutboxRepository.findAll().get(0);
+          assertEquals(EmailStatus.PENDING, email.getStatus());
+          assertEquals(1, email.getAttempts());
+          assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now()));
+          // not due yet
+          assertEquals(0, emailOutboxDispatcher.drain());
+     }
+}
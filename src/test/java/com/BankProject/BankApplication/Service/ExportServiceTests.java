@@ -0,0 +1,100 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.BankProject.BankApplication.DTOs.CustomUserInfo;
+import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
+import com.BankProject.BankApplication.Entity.Transactions;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+import com.BankProject.BankApplication.Repository.AccountRepository;
+import com.BankProject.BankApplication.Repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceTests {
+
+     @Autowired
+     private ExportService exportService;
+
+     @Autowired
+     private UserService userService;
+
+     @Autowired
+     private AccountRepository accountRepository;
+
+     @Autowired
+     private TransactionRepository transactionRepository;
+
+     @Autowired
+     private ObjectMapper objectMapper;
+
+     @Test
+     void usersAreStreamedAsCsvAndNdjson() throws Exception {
+          CustomUserInfo user = userService.registerUser(new UserAccountTemplate("Export, \"The\" User",
+                    "export.user@securebank.test", "secret1", Role.USER, 25, AccountType.CURRENT));
+
+          ByteArrayOutputStream csv = new ByteArrayOutputStream();
+          long rows = exportService.exportUsers(ExportService.Format.CSV, csv);
+          List<String> lines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+          assertEquals("userId,fullName,email,role,isEnabled,accountNumber,balance,accountType", lines.get(0));
+          assertEquals(rows + 1, lines.size());
+          assertTrue(lines.contains(user.getUserId() + ",\"Export, \"\"The\"\" User\",export.user@securebank.test,USER,false,"
+                    + user.getAccountNumber() + ",25.0,CURRENT"));
+
+          ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+          assertEquals(rows, exportService.exportUsers(ExportService.Format.NDJSON, ndjson));
+          JsonNode exported = ndjson.toString(StandardCharsets.UTF_8).lines().map(this::read)
+                    .filter(node -> node.get("userId").asText().equals(user.getUserId())).findFirst().get();
+          assertEquals("Export, \"The\" User", exported.get("fullName").asText());
+          assertEquals(user.getAccountNumber().longValue(), exported.get("accountNumber").asLong());
+          assertEquals(25.0, exported.get("balance").asDouble());
+          assertEquals(false, exported.get("isEnabled").asBoolean());
+     }
+
+     @Test
+     void transactionsAreFilteredByAccountAndTime() throws Exception {
+          CustomUserInfo user = userService.registerUser(new UserAccountTemplate("Export Payer",
+                    "export.payer@securebank.test", "secret1", Role.USER, 0, AccountType.SAVINGS));
+          LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+          // newest first, so the id order is not the time order (like the random ids of older rows)
+          for (int i = 2; i >= 0; i--) {
+               Transactions transaction = new Transactions();
+               transaction.setAccount(accountRepository.findById(user.getAccountNumber()).get());
+               transaction.setAmount(10.0 + i);
+               transaction.setType(TransactionTypes.DEPOSIT);
+               transaction.setTime(now.plusDays(i));
+               transactionRepository.save(transaction);
+          }
+
+          ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+          assertEquals(2, exportService.exportTransactions(user.getAccountNumber(), now, now.plusDays(2),
+                    ExportService.Format.NDJSON, ndjson));
+          List<JsonNode> exported = ndjson.toString(StandardCharsets.UTF_8).lines().map(this::read).toList();
+          assertEquals(List.of(10.0, 11.0), exported.stream().map(node -> node.get("amount").asDouble()).toList());
+          assertEquals("DEPOSIT", exported.get(0).get("type").asText());
+          assertEquals(now.toString(), exported.get(0).get("time").asText());
+     }
+
+     private JsonNode read(String line) {
+          try {
+               return objectMapper.readTree(line);
+          } catch (Exception e) {
+               throw new IllegalStateException(e);
+          }
+     }
+}
@@ -0,0 +1,176 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.AccessDeniedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.directory.InvalidAttributesException;
+import javax.security.auth.login.AccountNotFoundException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.Exceptions.IdempotencyKeyMismatchException;
+import com.BankProject.BankApplication.Exceptions.InsufficientAmountException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// claims in the shared store, without redis: the store records what the service asks of it
+class IdempotencyServiceTests {
+
+     private final RecordingStore store = new RecordingStore();
+
+     private final IdempotencyService idempotencyService = new IdempotencyService();
+
+     @BeforeEach
+     void setUp() {
+          ReflectionTestUtils.setField(idempotencyService, "idempotencyStore", store);
+          ReflectionTestUtils.setField(idempotencyService, "objectMapper", new ObjectMapper());
+          ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(1));
+          ReflectionTestUtils.setField(idempotencyService, "pendingTtl", Duration.ofMillis(150));
+          ReflectionTestUtils.setField(idempotencyService, "maxSize", 100L);
+          ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofSeconds(1));
+          ReflectionTestUtils.setField(idempotencyService, "pollInterval", Duration.ofMillis(10));
+          idempotencyService.init();
+     }
+
+     @AfterEach
+     void tearDown() {
+          idempotencyService.shutdown();
+     }
+
+     @Test
+     void claimIsRenewedWhileTheRequestRunsAndCompletedWithItsToken() throws InterruptedException {
+          TransactionResponseDTO response = idempotencyService.execute("slow", "deposit", 10.0, () -> {
+               Thread.sleep(300);
+               return new TransactionResponseDTO("trans-1", 10.0, null, null, 1L);
+          });
+
+          assertEquals("trans-1", response.getTransactionId());
+          assertTrue(store.renewed.size() >= 2, "renewals: " + store.renewed);
+          assertTrue(store.renewed.stream().allMatch(RecordingStore.TOKEN::equals));
+          assertEquals(List.of(RecordingStore.TOKEN), store.completed);
+     }
+
+     @Test
+     void concurrentRetriesWithTheSameKeyRunTheRequestOnce() throws Exception {
+          AtomicInteger runs = new AtomicInteger();
+          List<Callable<TransactionResponseDTO>> retries = new ArrayList<>();
+          for (int i = 0; i < 20; i++) {
+               retries.add(() -> idempotencyService.execute("deposit-1", "deposit", 10.0, () -> {
+                    Thread.sleep(50);
+                    return new TransactionResponseDTO("trans-" + runs.incrementAndGet(), 10.0, null, null, 1L);
+               }));
+          }
+          ExecutorService pool = Executors.newFixedThreadPool(16);
+          Set<String> transactionIds = new HashSet<>();
+          try {
+               for (Future<TransactionResponseDTO> future : pool.invokeAll(retries, 60, TimeUnit.SECONDS)) {
+                    transactionIds.add(future.get().getTransactionId());
+               }
+          } finally {
+               pool.shutdownNow();
+          }
+          assertEquals(Set.of("trans-1"), transactionIds);
+          assertEquals(1, runs.get());
+     }
+
+     @Test
+     void failedRequestRunsAgainOnRetryAndTheKeyStaysBoundToItsBody() {
+          assertThrows(InsufficientAmountException.class, () -> idempotencyService.execute("withdraw-1", "withdraw", 50.0,
+                    () -> {
+                         throw new InsufficientAmountException("Insufficient balance");
+                    }));
+          TransactionResponseDTO response = idempotencyService.execute("withdraw-1", "withdraw", 50.0,
+                    () -> new TransactionResponseDTO("trans-2", 50.0, null, null, 1L));
+          assertEquals("trans-2", response.getTransactionId());
+
+          // another amount with the same key is rejected without running
+          AtomicInteger runs = new AtomicInteger();
+          assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyService.execute("withdraw-1", "withdraw",
+                    99.0, () -> {
+                         runs.incrementAndGet();
+                         return new TransactionResponseDTO();
+                    }));
+          assertEquals(0, runs.get());
+     }
+
+     @Test
+     void failedRequestReleasesOnlyItsOwnClaim() {
+          assertThrows(InsufficientAmountException.class, () -> idempotencyService.execute("failing", "withdraw", 50.0,
+                    () -> {
+                         throw new InsufficientAmountException("Insufficient balance");
+                    }));
+          assertEquals(List.of(RecordingStore.TOKEN), store.released);
+     }
+
+     @Test
+     void checkedExceptionsOfTheRequestAreNotWrapped() {
+          IdempotencyService.Request<AccountNotFoundException, AccessDeniedException, InvalidAttributesException> transfer =
+                    () -> {
+                         throw new AccountNotFoundException("Account not found");
+                    };
+          assertThrows(AccountNotFoundException.class,
+                    () -> idempotencyService.execute("transfer-1", "transfer", "slip", transfer));
+          assertEquals(List.of(RecordingStore.TOKEN), store.released);
+     }
+
+     @Test
+     void keyStoredForAnotherBodyIsRejected() {
+          store.stored = new IdempotencyStore.Entry("another-fingerprint", null);
+          assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyService.execute("reused", "deposit", 10.0,
+                    () -> new TransactionResponseDTO()));
+     }
+
+     private static final class RecordingStore implements IdempotencyStore {
+
+          static final String TOKEN = "token-1";
+
+          volatile Entry stored;
+          final List<String> renewed = new CopyOnWriteArrayList<>();
+          final List<String> completed = new CopyOnWriteArrayList<>();
+          final List<String> released = new CopyOnWriteArrayList<>();
+
+          @Override
+          public Entry find(String key) {
+               return stored;
+          }
+
+          @Override
+          public String claim(String key, String fingerprint) {
+               return TOKEN;
+          }
+
+          @Override
+          public boolean renew(String key, String token) {
+               renewed.add(token);
+               return true;
+          }
+
+          @Override
+          public void complete(String key, String token, String fingerprint, TransactionResponseDTO response) {
+               completed.add(token);
+          }
+
+          @Override
+          public void release(String key, String token) {
+               released.add(token);
+          }
+     }
+}
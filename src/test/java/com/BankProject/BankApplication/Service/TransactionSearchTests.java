@@ -0,0 +1,129 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.BankProject.BankApplication.DTOs.CustomUserInfo;
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.DTOs.TransactionSearchCriteria;
+import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+import com.BankProject.BankApplication.Repository.TransactionRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionSearchTests {
+
+     private static final int ROWS = 20_000;
+
+     private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+     @Autowired
+     private UserService userService;
+
+     @Autowired
+     private TransactionRepository transactionRepository;
+
+     @Autowired
+     private JdbcTemplate jdbcTemplate;
+
+     @Test
+     void withdrawalsOverAnAmountInAMonthAreFoundThroughTheTypeIndex() throws Exception {
+          Long accountNumber = customer("search.one@securebank.test");
+          Long otherAccountNumber = customer("search.two@securebank.test");
+          List<Object[]> seeded = seed(accountNumber, ROWS);
+          seed(otherAccountNumber, ROWS);
+          jdbcTemplate.execute("ANALYZE");
+
+          LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+          LocalDateTime to = LocalDateTime.of(2024, 4, 1, 0, 0);
+          List<Object[]> expected = seeded.stream()
+                    .filter(row -> row[2].equals(TransactionTypes.WITHDRAW.name()))
+                    .filter(row -> (double) row[3] >= 500)
+                    .filter(row -> !((Timestamp) row[4]).toLocalDateTime().isBefore(from)
+                              && ((Timestamp) row[4]).toLocalDateTime().isBefore(to))
+                    .sorted(Comparator.comparing((Object[] row) -> (Timestamp) row[4])
+                              .thenComparing(row -> (String) row[0]).reversed())
+                    .toList();
+          assertFalse(expected.isEmpty());
+
+          TransactionSearchCriteria criteria = new TransactionSearchCriteria(List.of(TransactionTypes.WITHDRAW), from,
+                    to, 500.0, null);
+          List<String> found = new ArrayList<>();
+          Slice<TransactionResponseDTO> slice;
+          int page = 0;
+          do {
+               slice = transactionRepository.search(accountNumber, criteria, PageRequest.of(page++, 50));
+               slice.forEach(transaction -> found.add(transaction.getTransactionId()));
+          } while (slice.hasNext());
+          assertEquals(expected.stream().map(row -> (String) row[0]).toList(), found);
+
+          String plan = explain(generatedSql(() -> transactionRepository.search(accountNumber, criteria,
+                    PageRequest.of(0, 50))));
+          assertTrue(plan.toLowerCase().contains("idx_transactions_account_type_time"), plan);
+     }
+
+     // the statement Hibernate sent to the database while the search ran, from the H2 query statistics
+     private String generatedSql(Runnable search) {
+          jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+          List<String> statements;
+          try {
+               search.run();
+               statements = jdbcTemplate.queryForList("SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS "
+                         + "WHERE LOWER(SQL_STATEMENT) LIKE '%from transactions%'", String.class);
+          } finally {
+               // switching them off drops the statistics
+               jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+          }
+          assertEquals(1, statements.size(), statements.toString());
+          return statements.get(0);
+     }
+
+     // plan of a statement with unbound parameters, as H2 would run it
+     private String explain(String sql) {
+          return jdbcTemplate.query("EXPLAIN " + sql, (PreparedStatementSetter) statement -> {
+          }, result -> result.next() ? result.getString(1) : null);
+     }
+
+     private Long customer(String email) throws Exception {
+          CustomUserInfo user = userService.registerUser(
+                    new UserAccountTemplate("Search", email, "secret1", Role.USER, 0, AccountType.SAVINGS));
+          return user.getAccountNumber();
+     }
+
+     // transactions spread over one year with random types and amounts
+     private List<Object[]> seed(Long accountNumber, int rows) {
+          Random random = new Random(accountNumber);
+          TransactionTypes[] types = TransactionTypes.values();
+          List<Object[]> seeded = new ArrayList<>(rows);
+          for (int i = 0; i < rows; i++) {
+               seeded.add(new Object[] { UUID.randomUUID().toString(), accountNumber,
+                         types[random.nextInt(types.length)].name(), (double) random.nextInt(1000),
+                         Timestamp.valueOf(START.plusMinutes(random.nextInt(366 * 24 * 60))) });
+          }
+          jdbcTemplate.batchUpdate(
+                    "INSERT INTO transactions (transaction_id, account_id, type, amount, time) VALUES (?, ?, ?, ?, ?)",
+                    seeded);
+          return seeded;
+     }
+}
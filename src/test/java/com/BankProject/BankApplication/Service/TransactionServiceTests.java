@@ -0,0 +1,374 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.BankProject.BankApplication.DTOs.CursorPage;
+import com.BankProject.BankApplication.DTOs.MonthlySpendingDTO;
+import com.BankProject.BankApplication.DTOs.StatementDTO;
+import com.BankProject.BankApplication.DTOs.TransactionResponseDTO;
+import com.BankProject.BankApplication.DTOs.TransferSlip;
+import com.BankProject.BankApplication.Entity.Account;
+import com.BankProject.BankApplication.Entity.Transactions;
+import com.BankProject.BankApplication.Entity.User;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+import com.BankProject.BankApplication.Enum.TransactionTypes;
+import com.BankProject.BankApplication.Exceptions.InsufficientAmountException;
+import com.BankProject.BankApplication.Repository.AccountRepository;
+import com.BankProject.BankApplication.Repository.TransactionRepository;
+import com.BankProject.BankApplication.Repository.UserRepository;
+import com.BankProject.BankApplication.Utils.CursorCodec;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionServiceTests {
+
+     @Autowired
+     private TransactionService transactionService;
+
+     @Autowired
+     private UserService userService;
+
+     @Autowired
+     private UserRepository userRepository;
+
+     @Autowired
+     private AccountRepository accountRepository;
+
+     @Autowired
+     private TransactionRepository transactionRepository;
+
+     @Autowired
+     private BalanceSnapshotService balanceSnapshotService;
+
+     @Autowired
+     private MeterRegistry meterRegistry;
+
+     @Autowired
+     private SpendingRollupService spendingRollupService;
+
+     private final ExecutorService pool = Executors.newFixedThreadPool(16);
+
+     @AfterEach
+     void tearDown() {
+          pool.shutdownNow();
+     }
+
+     @Test
+     void concurrentDepositsOnOneAccountAreNotLost() throws Exception {
+          User user = createCustomer("deposits@securebank.test", 0);
+          List<Callable<TransactionResponseDTO>> deposits = new ArrayList<>();
+          for (int i = 0; i < 200; i++) {
+               deposits.add(as(user, () -> transactionService.deposit(1.0)));
+          }
+          runAll(deposits);
+          assertEquals(200.0, balanceOf(user));
+     }
+
+     @Test
+     void opposingTransfersDoNotDeadlockAndKeepMoneyConstant() throws Exception {
+          User first = createCustomer("first@securebank.test", 1000);
+          User second = createCustomer("second@securebank.test", 1000);
+          TransferSlip firstToSecond = new TransferSlip(first.getAccount().getAccountNumber(),
+                    second.getAccount().getAccountNumber(), 1.0);
+          TransferSlip secondToFirst = new TransferSlip(second.getAccount().getAccountNumber(),
+                    first.getAccount().getAccountNumber(), 1.0);
+          List<Callable<TransactionResponseDTO>> transfers = new ArrayList<>();
+          for (int i = 0; i < 100; i++) {
+               transfers.add(as(first, () -> transactionService.transferAmount(firstToSecond)));
+               transfers.add(as(second, () -> transactionService.transferAmount(secondToFirst)));
+               transfers.add(as(first, () -> transactionService.withdraw(1.0)));
+          }
+          runAll(transfers);
+          assertEquals(900.0, balanceOf(first));
+          assertEquals(1000.0, balanceOf(second));
+     }
+
+     @Test
+     void balanceEndpointFollowsCommittedChanges() throws Exception {
+          User user = createCustomer("balance@securebank.test", 10);
+          assertEquals(10.0, as(user, () -> userService.accountBalance()).call());
+          as(user, () -> transactionService.deposit(5.0)).call();
+          as(user, () -> transactionService.withdraw(2.0)).call();
+          assertEquals(13.0, as(user, () -> userService.accountBalance()).call());
+     }
+
+     @Test
+     void batchTransferBooksAllSlipsOrNone() throws Exception {
+          User payer = createCustomer("payer@securebank.test", 100);
+          User firstPayee = createCustomer("payee.one@securebank.test", 0);
+          User secondPayee = createCustomer("payee.two@securebank.test", 0);
+          Long payerAccount = payer.getAccount().getAccountNumber();
+          List<TransferSlip> payroll = List.of(
+                    new TransferSlip(payerAccount, firstPayee.getAccount().getAccountNumber(), 30.0),
+                    new TransferSlip(payerAccount, secondPayee.getAccount().getAccountNumber(), 20.0),
+                    new TransferSlip(payerAccount, firstPayee.getAccount().getAccountNumber(), 10.0));
+          assertEquals(3, as(payer, () -> transactionService.transferBatch(payroll)).call().size());
+          assertEquals(40.0, balanceOf(payer));
+          assertEquals(40.0, balanceOf(firstPayee));
+          assertEquals(20.0, balanceOf(secondPayee));
+
+          // the last slip overdraws the account, so none of the slips is booked
+          List<TransferSlip> overdrawn = List.of(
+                    new TransferSlip(payerAccount, firstPayee.getAccount().getAccountNumber(), 30.0),
+                    new TransferSlip(payerAccount, secondPayee.getAccount().getAccountNumber(), 20.0));
+          InsufficientAmountException error = assertThrows(InsufficientAmountException.class,
+                    () -> as(payer, () -> transactionService.transferBatch(overdrawn)).call());
+          assertTrue(error.getMessage().startsWith("Slip 1"));
+          assertEquals(40.0, balanceOf(payer));
+          assertEquals(40.0, balanceOf(firstPayee));
+          assertEquals(20.0, balanceOf(secondPayee));
+     }
+
+     @Test
+     void historyIsServedNewestFirstFromCacheAndDatabase() throws Exception {
+          User user = createCustomer("history@securebank.test", 0);
+          // more transactions than the recent transactions cache holds
+          for (int i = 1; i <= 120; i++) {
+               double amount = i;
+               as(user, () -> transactionService.deposit(amount)).call();
+          }
+          Page<TransactionResponseDTO> first = as(user, () -> transactionService.checkTransactionHistory(0, 10)).call();
+          assertEquals(120, first.getTotalElements());
+          assertEquals(120.0, first.getContent().get(0).getAmount());
+          // cached again after the first read, so the next deposit is appended at the head
+          as(user, () -> transactionService.deposit(121.0)).call();
+          Page<TransactionResponseDTO> cached = as(user, () -> transactionService.checkTransactionHistory(0, 10)).call();
+          assertEquals(121, cached.getTotalElements());
+          assertEquals(121.0, cached.getContent().get(0).getAmount());
+          assertEquals(112.0, cached.getContent().get(9).getAmount());
+          // beyond the cache capacity
+          Page<TransactionResponseDTO> deep = as(user, () -> transactionService.checkTransactionHistory(11, 10)).call();
+          assertEquals(121, deep.getTotalElements());
+          assertEquals(11.0, deep.getContent().get(0).getAmount());
+          assertEquals(2.0, deep.getContent().get(9).getAmount());
+     }
+
+     @Test
+     void offsetPagesOfTransactionsWithTheSameTimeHaveNoGapsOrDuplicates() throws Exception {
+          User user = createCustomer("same.time@securebank.test", 0);
+          // like the rows of one batch transfer
+          LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 0);
+          for (int i = 0; i < 130; i++) {
+               saveTransaction(user, i, TransactionTypes.DEBIT, time);
+          }
+          Set<String> transactionIds = new HashSet<>();
+          for (int page = 0; page < 13; page++) {
+               int current = page;
+               as(user, () -> transactionService.checkTransactionHistory(current, 10)).call().getContent()
+                         .forEach(transaction -> transactionIds.add(transaction.getTransactionId()));
+          }
+          assertEquals(130, transactionIds.size());
+     }
+
+     @Test
+     void cursorPagesWalkTheWholeHistoryWithoutGapsOrDuplicates() throws Exception {
+          User user = createCustomer("cursor@securebank.test", 0);
+          for (int i = 1; i <= 25; i++) {
+               double amount = i;
+               as(user, () -> transactionService.deposit(amount)).call();
+          }
+          List<Double> amounts = new ArrayList<>();
+          String cursor = null;
+          CursorPage<TransactionResponseDTO> page;
+          do {
+               String current = cursor;
+               page = as(user, () -> transactionService.checkTransactionHistory(current, 10)).call();
+               page.getContent().forEach(transaction -> amounts.add(transaction.getAmount()));
+               cursor = page.getNextCursor();
+          } while (page.isHasNext());
+          assertEquals(25, amounts.size());
+          for (int i = 0; i < 25; i++) {
+               assertEquals(25.0 - i, amounts.get(i));
+          }
+
+          // a well formed cursor with a tampered position is a bad request, not a server error
+          String tampered = CursorCodec.encode("yesterday", "trans-1");
+          assertThrows(IllegalArgumentException.class,
+                    () -> as(user, () -> transactionService.checkTransactionHistory(tampered, 10)).call());
+     }
+
+     @Test
+     void statementStartsFromTheNearestSnapshot() throws Exception {
+          // opened with 100, then +50, -20 and +5 on three days
+          User user = createCustomer("statement@securebank.test", 135);
+          LocalDate day = LocalDate.of(2024, 3, 1);
+          saveTransaction(user, 50.0, TransactionTypes.DEPOSIT, day.atTime(10, 0));
+          saveTransaction(user, 20.0, TransactionTypes.WITHDRAW, day.plusDays(1).atTime(9, 0));
+          saveTransaction(user, 5.0, TransactionTypes.CREDIT, day.plusDays(2).atTime(23, 59));
+
+          // no snapshot yet, walks back from the live balance
+          StatementDTO live = as(user, () -> transactionService.statement(day, day.plusDays(1))).call();
+          assertEquals(100.0, live.getOpeningBalance());
+          assertEquals(130.0, live.getClosingBalance());
+          assertEquals(2, live.getTransactions().size());
+
+          assertTrue(balanceSnapshotService.snapshot(day) >= 1);
+          assertEquals(0, balanceSnapshotService.snapshot(day));
+          StatementDTO afterSnapshot = as(user, () -> transactionService.statement(day.plusDays(1), day.plusDays(2))).call();
+          assertEquals(150.0, afterSnapshot.getOpeningBalance());
+          assertEquals(135.0, afterSnapshot.getClosingBalance());
+          assertEquals(List.of(20.0, 5.0),
+                    afterSnapshot.getTransactions().stream().map(TransactionResponseDTO::getAmount).toList());
+          // before the first snapshot, walks back from it
+          StatementDTO before = as(user, () -> transactionService.statement(day, day)).call();
+          assertEquals(100.0, before.getOpeningBalance());
+          assertEquals(150.0, before.getClosingBalance());
+     }
+
+     @Test
+     void monthlySpendingIsCountedPerMonthAndType() throws Exception {
+          User user = createCustomer("rollup@securebank.test", 100);
+          Account account = accountRepository.findById(user.getAccount().getAccountNumber()).get();
+          // a fixed month, so the rows and the asserted month can not fall apart at midnight
+          YearMonth month = YearMonth.of(2025, 3);
+          spendingRollupService.add(List.of(
+                    newTransaction(account, 10.0, TransactionTypes.DEPOSIT, month.atDay(1).atStartOfDay()),
+                    newTransaction(account, 15.0, TransactionTypes.DEPOSIT, month.atEndOfMonth().atTime(23, 59, 59)),
+                    newTransaction(account, 5.0, TransactionTypes.WITHDRAW, month.atDay(15).atTime(12, 0)),
+                    newTransaction(account, 20.0, TransactionTypes.TRANSFER, month.plusMonths(1).atDay(1).atStartOfDay())));
+
+          assertEquals(List.of(new MonthlySpendingDTO(month, TransactionTypes.DEPOSIT, 2, 25.0),
+                    new MonthlySpendingDTO(month, TransactionTypes.WITHDRAW, 1, 5.0)),
+                    as(user, () -> transactionService.monthlySpending(month, month)).call());
+          assertEquals(List.of(new MonthlySpendingDTO(month.plusMonths(1), TransactionTypes.TRANSFER, 1, 20.0)),
+                    as(user, () -> transactionService.monthlySpending(month.plusMonths(1), month.plusMonths(2))).call());
+     }
+
+     @Test
+     void bookedTransactionsAreAddedToTheMonthlySpending() throws Exception {
+          User user = createCustomer("rollup.booked@securebank.test", 100);
+          User payee = createCustomer("rollup.payee@securebank.test", 0);
+          as(user, () -> transactionService.deposit(10.0)).call();
+          as(user, () -> transactionService.withdraw(5.0)).call();
+          as(user, () -> transactionService.transferAmount(new TransferSlip(user.getAccount().getAccountNumber(),
+                    payee.getAccount().getAccountNumber(), 20.0))).call();
+
+          // the bookings may fall into the month before this one when the test runs over midnight
+          YearMonth month = YearMonth.now();
+          assertEquals(List.of(TransactionTypes.DEPOSIT, TransactionTypes.WITHDRAW, TransactionTypes.TRANSFER),
+                    typesOf(as(user, () -> transactionService.monthlySpending(month.minusMonths(1), month)).call()));
+          assertEquals(List.of(TransactionTypes.CREDIT),
+                    typesOf(as(payee, () -> transactionService.monthlySpending(month.minusMonths(1), month)).call()));
+     }
+
+     @Test
+     void operationsAreTimedWithTheirJdbcTimeAndFailuresAreCounted() throws Exception {
+          User user = createCustomer("metrics@securebank.test", 10);
+          long deposits = operationCount("bank.operation", "deposit");
+          double depositJdbc = operationNanos("bank.operation.jdbc", "deposit");
+
+          as(user, () -> transactionService.deposit(5.0)).call();
+          assertThrows(InsufficientAmountException.class, () -> as(user, () -> transactionService.withdraw(100.0)).call());
+
+          assertEquals(deposits + 1, operationCount("bank.operation", "deposit"));
+          // the deposit runs on an account command thread, its statements still count for the operation
+          assertTrue(operationNanos("bank.operation.jdbc", "deposit") > depositJdbc);
+          assertTrue(meterRegistry.get("bank.operation.failures")
+                    .tag("method", "withdraw")
+                    .tag("exception", "InsufficientAmountException")
+                    .counter().count() >= 1);
+     }
+
+     private static Transactions newTransaction(Account account, double amount, TransactionTypes type,
+               LocalDateTime time) {
+          Transactions transaction = new Transactions();
+          transaction.setAccount(account);
+          transaction.setAmount(amount);
+          transaction.setType(type);
+          transaction.setTime(time);
+          return transaction;
+     }
+
+     private static List<TransactionTypes> typesOf(List<MonthlySpendingDTO> spending) {
+          return spending.stream().map(MonthlySpendingDTO::getType).distinct().toList();
+     }
+
+     private void saveTransaction(User user, double amount, TransactionTypes type, LocalDateTime time) {
+          Transactions transaction = new Transactions();
+          transaction.setAccount(accountRepository.findById(user.getAccount().getAccountNumber()).get());
+          transaction.setAmount(amount);
+          transaction.setType(type);
+          transaction.setTime(time);
+          transactionRepository.save(transaction);
+     }
+
+     private void runAll(List<Callable<TransactionResponseDTO>> tasks) throws Exception {
+          for (Future<TransactionResponseDTO> future : pool.invokeAll(tasks, 60, TimeUnit.SECONDS)) {
+               future.get();
+          }
+     }
+
+     private long operationCount(String name, String method) {
+          return operationTimers(name, method).stream().mapToLong(Timer::count).sum();
+     }
+
+     private double operationNanos(String name, String method) {
+          return operationTimers(name, method).stream().mapToDouble(timer -> timer.totalTime(TimeUnit.NANOSECONDS)).sum();
+     }
+
+     private Collection<Timer> operationTimers(String name, String method) {
+          return meterRegistry.find(name).tag("class", TransactionService.class.getName()).tag("method", method).timers();
+     }
+
+     // runs the task as the given customer
+     private <T> Callable<T> as(User user, Callable<T> task) {
+          return () -> {
+               SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                         user.getEmail(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+               try {
+                    return task.call();
+               } finally {
+                    SecurityContextHolder.clearContext();
+               }
+          };
+     }
+
+     private double balanceOf(User user) {
+          return accountRepository.findById(user.getAccount().getAccountNumber()).get().getBalance();
+     }
+
+     private User createCustomer(String email, double balance) {
+          User user = new User();
+          user.setFullName("Test " + email);
+          user.setEmail(email);
+          user.setPassword("{noop}password");
+          user.setRole(Role.USER);
+          user.setIsEnabled(true);
+          Account account = new Account();
+          account.setBalance(balance);
+          account.setAccountType(AccountType.SAVINGS);
+          account.setUser(user);
+          user.setAccount(account);
+          return userRepository.save(user);
+     }
+}
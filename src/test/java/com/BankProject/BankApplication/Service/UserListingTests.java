@@ -0,0 +1,74 @@
+package com.BankProject.BankApplication.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.BankProject.BankApplication.DTOs.CursorPage;
+import com.BankProject.BankApplication.DTOs.CustomUserInfo;
+import com.BankProject.BankApplication.DTOs.UserAccountTemplate;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.CustomerSort;
+import com.BankProject.BankApplication.Enum.Role;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserListingTests {
+
+     @Autowired
+     private UserService userService;
+
+     @Test
+     void customersArePagedInTheDatabaseWithTheirTotal() throws Exception {
+          for (int i = 0; i < 5; i++) {
+               userService.registerUser(new UserAccountTemplate("Listing " + i, "listing" + i + "@securebank.test",
+                         "secret1", Role.USER, 100 * (i % 3), i % 2 == 0 ? AccountType.SAVINGS : AccountType.CURRENT));
+          }
+
+          Page<CustomUserInfo> all = userService.getAllUsers(0, 1000);
+          assertTrue(all.getTotalElements() >= 5);
+          assertTrue(all.getContent().stream().allMatch(user -> user.getRole() == Role.USER));
+          Page<CustomUserInfo> first = userService.getAllUsers(0, 2);
+          assertEquals(2, first.getContent().size());
+          assertEquals(all.getTotalElements(), first.getTotalElements());
+
+          for (CustomerSort sort : CustomerSort.values()) {
+               List<CustomUserInfo> walked = walk(sort, true, 2);
+               assertEquals(all.getTotalElements(), walked.size());
+               assertEquals(walked.size(), new HashSet<>(walked.stream().map(CustomUserInfo::getAccountNumber).toList()).size());
+               for (int i = 1; i < walked.size(); i++) {
+                    assertFalse(compare(sort, walked.get(i - 1), walked.get(i)) < 0, sort + " is not descending");
+               }
+          }
+     }
+
+     private List<CustomUserInfo> walk(CustomerSort sort, boolean descending, int size) {
+          List<CustomUserInfo> walked = new ArrayList<>();
+          String cursor = null;
+          do {
+               CursorPage<CustomUserInfo> page = userService.getCustomers(sort, descending, cursor, size);
+               walked.addAll(page.getContent());
+               cursor = page.getNextCursor();
+          } while (cursor != null);
+          return walked;
+     }
+
+     private int compare(CustomerSort sort, CustomUserInfo left, CustomUserInfo right) {
+          int bySort = switch (sort) {
+               case BALANCE -> Double.compare(left.getBalance(), right.getBalance());
+               case ACCOUNT_TYPE -> left.getAccountType().compareTo(right.getAccountType());
+               case ACCOUNT_NUMBER -> 0;
+          };
+          return bySort != 0 ? bySort : left.getAccountNumber().compareTo(right.getAccountNumber());
+     }
+}
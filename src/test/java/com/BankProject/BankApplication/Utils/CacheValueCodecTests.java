@@ -0,0 +1,54 @@
+package com.BankProject.BankApplication.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.BankProject.BankApplication.DTOs.CachedAccount;
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+import com.BankProject.BankApplication.DTOs.CachedUser;
+import com.BankProject.BankApplication.Enum.AccountType;
+import com.BankProject.BankApplication.Enum.Role;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheValueCodecTests {
+
+     private final DistributionSummary entrySize = DistributionSummary.builder("cache.entry.size")
+               .register(new SimpleMeterRegistry());
+
+     private final CacheValueCodec codec = new CacheValueCodec(entrySize);
+
+     @Test
+     void snapshotRecordsSurviveTheRoundTripInFewerBytes() {
+          List<Object> values = List.of(
+                    new CachedBalance(1250.75, 42),
+                    new CachedBalance(-0.5, 0),
+                    new CachedAccount(1462000001L, 10_000, 7, AccountType.SAVINGS),
+                    new CachedAccount(1462000002L, 0, 0, null),
+                    new CachedUser("0190f7a2-7d8e-7c4b-9f1e-3a5b6c7d8e9f", "Zoë Ünal", "zoe@securebank.test",
+                              Role.USER, true, 1462000001L),
+                    new CachedUser("admin", null, "admin@securebank.test", Role.ADMIN, false, null));
+          JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer();
+          for (Object value : values) {
+               byte[] encoded = codec.serialize(value);
+               assertEquals(value, codec.deserialize(encoded));
+               assertTrue(encoded.length * 4 < jdk.serialize(value).length, value + " is " + encoded.length + " bytes");
+          }
+          assertEquals(values.size(), entrySize.count());
+     }
+
+     @Test
+     void otherValuesFallBackToJdkSerialization() {
+          assertEquals("plain value", codec.deserialize(codec.serialize("plain value")));
+          assertEquals(null, codec.serialize(null));
+          assertThrows(SerializationException.class, () -> codec.deserialize(new byte[] { 99 }));
+     }
+}
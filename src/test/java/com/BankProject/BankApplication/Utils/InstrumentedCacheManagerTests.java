@@ -0,0 +1,64 @@
+package com.BankProject.BankApplication.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.BankProject.BankApplication.DTOs.CachedBalance;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class InstrumentedCacheManagerTests {
+
+     @Autowired
+     private CacheManager cacheManager;
+
+     @Autowired
+     private MeterRegistry meterRegistry;
+
+     @Autowired
+     private MockMvc mockMvc;
+
+     @Test
+     void cacheCallsAreCountedAndTimedPerCache() throws Exception {
+          Cache cache = cacheManager.getCache("metrics-test");
+          cache.get(1L, CachedBalance.class);
+          cache.put(1L, new CachedBalance(10, 1));
+          cache.get(1L, CachedBalance.class);
+          cache.get(1L);
+          cache.evict(1L);
+
+          assertEquals(2, count("get", "hit"));
+          assertEquals(1, count("get", "miss"));
+          assertEquals(1, count("put", "none"));
+          assertEquals(1, count("evict", "none"));
+
+          String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+          assertTrue(scrape.contains("cache_operations_seconds_bucket{cache=\"metrics-test\""), scrape);
+     }
+
+     private long count(String operation, String result) {
+          return meterRegistry.get("cache.operations")
+                    .tag("cache", "metrics-test")
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .timer().count();
+     }
+}
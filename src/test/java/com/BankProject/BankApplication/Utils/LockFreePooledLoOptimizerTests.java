@@ -0,0 +1,84 @@
+package com.BankProject.BankApplication.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.junit.jupiter.api.Test;
+
+class LockFreePooledLoOptimizerTests {
+
+     private static final long START = 1462000000L;
+     private static final int BLOCK = 50;
+
+     // stands in for a database sequence incrementing by the block size
+     private final AtomicLong sequence = new AtomicLong(START);
+     private final AtomicInteger sequenceCalls = new AtomicInteger();
+
+     private final AccessCallback callback = new AccessCallback() {
+          @Override
+          public IntegralDataTypeHolder getNextValue() {
+               sequenceCalls.incrementAndGet();
+               return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class)
+                         .initialize(sequence.getAndAdd(BLOCK));
+          }
+
+          @Override
+          public String getTenantIdentifier() {
+               return null;
+          }
+     };
+
+     @Test
+     void handsOutConsecutiveNumbersWithOneSequenceCallPerBlock() {
+          LockFreePooledLoOptimizer optimizer = new LockFreePooledLoOptimizer(Long.class, BLOCK);
+          for (long expected = START; expected < START + 3 * BLOCK; expected++) {
+               assertEquals(expected, optimizer.generate(callback));
+          }
+          assertEquals(3, sequenceCalls.get());
+     }
+
+     @Test
+     void concurrentGenerationNeverRepeatsANumber() throws Exception {
+          // two optimizers sharing one sequence, like two application nodes
+          LockFreePooledLoOptimizer firstNode = new LockFreePooledLoOptimizer(Long.class, BLOCK);
+          LockFreePooledLoOptimizer secondNode = new LockFreePooledLoOptimizer(Long.class, BLOCK);
+          Set<Object> numbers = ConcurrentHashMap.newKeySet();
+          List<Callable<Integer>> workers = new ArrayList<>();
+          for (int i = 0; i < 8; i++) {
+               LockFreePooledLoOptimizer optimizer = i % 2 == 0 ? firstNode : secondNode;
+               workers.add(() -> {
+                    int duplicates = 0;
+                    for (int n = 0; n < 10_000; n++) {
+                         if (!numbers.add(optimizer.generate(callback))) {
+                              duplicates++;
+                         }
+                    }
+                    return duplicates;
+               });
+          }
+          ExecutorService pool = Executors.newFixedThreadPool(8);
+          try {
+               for (Future<Integer> result : pool.invokeAll(workers)) {
+                    assertEquals(0, result.get());
+               }
+          } finally {
+               pool.shutdown();
+          }
+          assertEquals(80_000, numbers.size());
+          assertTrue(sequenceCalls.get() < 80_000 / 10);
+     }
+}
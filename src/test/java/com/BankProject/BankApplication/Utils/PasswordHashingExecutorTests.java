@@ -0,0 +1,102 @@
+package com.BankProject.BankApplication.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.BankProject.BankApplication.Exceptions.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTests {
+
+     @Test
+     void fullQueueIsRejectedAtOnceAndBatchWorkWaits() throws Exception {
+          SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+          PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 2, meterRegistry);
+          CountDownLatch started = new CountDownLatch(1);
+          CountDownLatch release = new CountDownLatch(1);
+          try {
+               // occupies the only hashing thread
+               CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.run("matches", () -> {
+                    started.countDown();
+                    await(release);
+                    return "first";
+               }));
+               started.await(5, TimeUnit.SECONDS);
+               // fills the queue
+               CompletableFuture<String> batch = executor.submitBatch("bulk-encode", () -> "batch");
+               CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.run("encode", () -> "queued"));
+               while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 2) {
+                    Thread.sleep(5);
+               }
+               assertThrows(TooManyRequestsException.class, () -> executor.run("matches", () -> "rejected"));
+
+               release.countDown();
+               assertEquals("first", running.get(5, TimeUnit.SECONDS));
+               assertEquals("batch", batch.get(5, TimeUnit.SECONDS));
+               assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+               assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+               assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+          } finally {
+               release.countDown();
+               executor.shutdown();
+          }
+     }
+
+     @Test
+     void batchWorkWaitsForAFullQueueAndNeverHashesOnTheCaller() throws Exception {
+          SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+          PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 2, meterRegistry);
+          CountDownLatch started = new CountDownLatch(1);
+          CountDownLatch release = new CountDownLatch(1);
+          try {
+               CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.run("matches", () -> {
+                    started.countDown();
+                    await(release);
+                    return "first";
+               }));
+               started.await(5, TimeUnit.SECONDS);
+               // interactive requests fill the whole queue
+               CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.run("encode", () -> "queued"));
+               CompletableFuture<String> queuedToo = CompletableFuture.supplyAsync(() -> executor.run("encode", () -> "queued"));
+               while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 2) {
+                    Thread.sleep(5);
+               }
+               CompletableFuture<String> batch = CompletableFuture
+                         .supplyAsync(() -> executor.submitBatch("bulk-encode", () -> Thread.currentThread().getName()))
+                         .thenCompose(future -> future);
+               long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+               while (meterRegistry.find("password.hashing.batch.retried").counter() == null && !batch.isDone()
+                         && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+               }
+               // still waiting for room in the pool
+               assertFalse(batch.isDone());
+
+               release.countDown();
+               assertEquals("first", running.get(5, TimeUnit.SECONDS));
+               assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+               assertEquals("queued", queuedToo.get(5, TimeUnit.SECONDS));
+               assertTrue(batch.get(5, TimeUnit.SECONDS).startsWith("password-hashing-"));
+          } finally {
+               release.countDown();
+               executor.shutdown();
+          }
+     }
+
+     private static void await(CountDownLatch latch) {
+          try {
+               latch.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+          }
+     }
+}
@@ -0,0 +1,108 @@
+package com.BankProject.BankApplication.Utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7Tests {
+
+     @Test
+     void idsCarryVersionSevenAndTheRfcVariant() {
+          for (int i = 0; i < 1_000; i++) {
+               UUID id = UuidV7.next();
+               assertEquals(7, id.version());
+               assertEquals(2, id.variant());
+          }
+          // the generator hands out the same ids as strings
+          UUID generated = UUID.fromString((String) new TimeOrderedIdGenerator().generate(null, null, null, null));
+          assertEquals(7, generated.version());
+          assertEquals(2, generated.variant());
+     }
+
+     @Test
+     void idsStrictlyIncreaseWithinTheSameMillisecond() {
+          List<UUID> ids = new ArrayList<>();
+          for (int i = 0; i < 10_000; i++) {
+               ids.add(UuidV7.next());
+          }
+          int sameMillisecond = 0;
+          for (int i = 1; i < ids.size(); i++) {
+               UUID previous = ids.get(i - 1);
+               UUID current = ids.get(i);
+               // the string form is what gets stored, so its order is the index order
+               assertTrue(previous.toString().compareTo(current.toString()) < 0, previous + " >= " + current);
+               if (millisOf(previous) == millisOf(current)) {
+                    sameMillisecond++;
+                    assertEquals(counterOf(previous) + 1, counterOf(current));
+               }
+          }
+          assertTrue(sameMillisecond > 0, "no two ids were created within the same millisecond");
+     }
+
+     @Test
+     void concurrentCallersGetUniqueIncreasingIds() throws Exception {
+          int threads = 8;
+          int perThread = 10_000;
+          Set<UUID> all = ConcurrentHashMap.newKeySet();
+          ExecutorService executor = Executors.newFixedThreadPool(threads);
+          CountDownLatch start = new CountDownLatch(1);
+          try {
+               List<Future<?>> futures = new ArrayList<>();
+               for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                         start.await();
+                         String previous = "";
+                         for (int i = 0; i < perThread; i++) {
+                              UUID id = UuidV7.next();
+                              String current = id.toString();
+                              assertTrue(previous.compareTo(current) < 0, previous + " >= " + current);
+                              all.add(id);
+                              previous = current;
+                         }
+                         return null;
+                    }));
+               }
+               start.countDown();
+               for (Future<?> future : futures) {
+                    future.get();
+               }
+          } finally {
+               executor.shutdownNow();
+          }
+          assertEquals(threads * perThread, all.size());
+     }
+
+     @Test
+     void idsStartWithTheCurrentUnixMillis() throws Exception {
+          // earlier bursts may have borrowed milliseconds ahead of the clock, wait for the clock to catch up
+          long last = millisOf(UuidV7.next());
+          while (System.currentTimeMillis() <= last) {
+               Thread.sleep(1);
+          }
+          long before = System.currentTimeMillis();
+          UUID id = UuidV7.next();
+          long after = System.currentTimeMillis();
+          long millis = millisOf(id);
+          assertTrue(millis >= before && millis <= after, millis + " not in [" + before + ", " + after + "]");
+          assertTrue(id.toString().replace("-", "").startsWith(String.format("%012x", millis)));
+     }
+
+     private static long millisOf(UUID id) {
+          return id.getMostSignificantBits() >>> 16;
+     }
+
+     private static long counterOf(UUID id) {
+          return id.getMostSignificantBits() & 0xFFFL;
+     }
+}